@@ -24,12 +24,18 @@ import ch.njol.skript.config.SectionNode;
 import ch.njol.skript.config.SimpleNode;
 import ch.njol.skript.events.util.PreScriptLoadEvent;
 import ch.njol.skript.lang.*;
+import ch.njol.skript.lang.function.Functions;
+import ch.njol.skript.lang.function.Signature;
+import ch.njol.skript.lang.parser.ParseCache;
+import ch.njol.skript.lang.parser.ParseMetrics;
 import ch.njol.skript.lang.parser.ParserInstance;
 import ch.njol.skript.log.CountingLogHandler;
 import ch.njol.skript.log.LogEntry;
 import ch.njol.skript.log.RetainingLogHandler;
+import ch.njol.skript.log.RuntimeErrorReporter;
 import ch.njol.skript.log.SkriptLogger;
 import ch.njol.skript.sections.SecLoop;
+import ch.njol.skript.structures.StructFunction;
 import ch.njol.skript.structures.StructOptions.OptionsData;
 import ch.njol.skript.util.ExceptionUtils;
 import ch.njol.skript.util.SkriptColor;
@@ -42,6 +48,7 @@ import ch.njol.util.OpenCloseable;
 import ch.njol.util.StringUtils;
 import org.jetbrains.annotations.Nullable;
 import org.skriptlang.skript.lang.script.Script;
+import org.skriptlang.skript.lang.script.ScriptData;
 import org.skriptlang.skript.lang.structure.Structure;
 import dev.ultreon.baseskript.BaseSkript;
 
@@ -51,8 +58,11 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -510,79 +520,31 @@ public class ScriptLoader {
 							.sorted(Comparator.comparing(pair -> pair.getSecond().getPriority()))
 							.collect(Collectors.toCollection(ArrayList::new));
 
-					// pre-loading
-					pairs.removeIf(pair -> {
-						Structure structure = pair.getSecond();
-
-						parser.setActive(pair.getFirst().getFirst());
-						parser.setCurrentStructure(structure);
-						parser.setNode(structure.getEntryContainer().getSource());
-
-						try {
-							if (!structure.preLoad()) {
-								pair.getFirst().getSecond().remove(structure);
-								return true;
-							}
-						} catch (Exception e) {
-							//noinspection ThrowableNotThrown
-							Skript.exception(e, "An error occurred while trying to preLoad a Structure.");
-							pair.getFirst().getSecond().remove(structure);
-							return true;
-						}
-						return false;
-					});
-					parser.setInactive();
+					runLoadingStage(parser, pairs, Structure::preLoad, "preLoad");
 
 					// TODO in the future, Structure#load/Structure#postLoad should be split across multiple threads if parallel loading is enabled.
 					// However, this is not possible right now as reworks in multiple areas will be needed.
 					// For example, the "Commands" class still uses a static list for currentArguments that is cleared between loads.
 					// Until these reworks happen, limiting main loading to asynchronous (not parallel) is the only choice we have.
 
-					// loading
-					pairs.removeIf(pair -> {
-						Structure structure = pair.getSecond();
-
-						parser.setActive(pair.getFirst().getFirst());
-						parser.setCurrentStructure(structure);
-						parser.setNode(structure.getEntryContainer().getSource());
-
-						try {
-							if (!structure.load()) {
-								pair.getFirst().getSecond().remove(structure);
-								return true;
-							}
-						} catch (Exception e) {
-							//noinspection ThrowableNotThrown
-							Skript.exception(e, "An error occurred while trying to load a Structure.");
-							pair.getFirst().getSecond().remove(structure);
-							return true;
-						}
-						return false;
-					});
-					parser.setInactive();
+					runLoadingStage(parser, pairs, Structure::load, "load");
 
-					// post-loading
-					pairs.removeIf(pair -> {
-						Structure structure = pair.getSecond();
-
-						parser.setActive(pair.getFirst().getFirst());
-						parser.setCurrentStructure(structure);
-						parser.setNode(structure.getEntryContainer().getSource());
-
-						try {
-							if (!structure.postLoad()) {
-								pair.getFirst().getSecond().remove(structure);
-								return true;
-							}
-						} catch (Exception e) {
-							//noinspection ThrowableNotThrown
-							Skript.exception(e, "An error occurred while trying to postLoad a Structure.");
-							pair.getFirst().getSecond().remove(structure);
-							return true;
+					runLoadingStage(parser, pairs, Structure::postLoad, "postLoad");
+
+					// persist parse decisions and report parse metrics, they are no longer needed once everything is loaded
+					for (NonNullPair<Script, List<Structure>> pair : scripts) {
+						Script script = pair.getFirst();
+						ParseCache cache = script.getData(ParseCache.class);
+						if (cache != null) {
+							cache.save();
+							script.removeData(ParseCache.class);
 						}
-						return false;
-					});
-					parser.setInactive();
+						ParseMetrics metrics = script.getData(ParseMetrics.class);
+						if (metrics != null) {
+							metrics.report();
+							script.removeData(ParseMetrics.class);
+						}
+					}
 
 					return scriptInfo;
 				} catch (Exception e) {
@@ -596,6 +558,43 @@ public class ScriptLoader {
 			});
 	}
 
+	/**
+	 * Runs a single loading stage ({@link Structure#preLoad()}, {@link Structure#load()} or {@link Structure#postLoad()})
+	 *  for the provided structures, in order.
+	 * Structures that fail the stage are removed from the provided list, as well as from the structure list of their script.
+	 * @param pairs Pairs of a (script, modifiable structures list) pair and the structure to load.
+	 * @param stage The stage to run.
+	 * @param stageName The name of the stage, used in error messages.
+	 */
+	private static void runLoadingStage(
+		ParserInstance parser,
+		List<NonNullPair<NonNullPair<Script, List<Structure>>, Structure>> pairs,
+		Predicate<Structure> stage,
+		String stageName
+	) {
+		pairs.removeIf(pair -> {
+			Structure structure = pair.getSecond();
+
+			parser.setActive(pair.getFirst().getFirst());
+			parser.setCurrentStructure(structure);
+			parser.setNode(structure.getEntryContainer().getSource());
+
+			try {
+				if (!stage.test(structure)) {
+					pair.getFirst().getSecond().remove(structure);
+					return true;
+				}
+			} catch (Exception e) {
+				//noinspection ThrowableNotThrown
+				Skript.exception(e, "An error occurred while trying to " + stageName + " a Structure.");
+				pair.getFirst().getSecond().remove(structure);
+				return true;
+			}
+			return false;
+		});
+		parser.setInactive();
+	}
+
 	/**
 	 * Creates a script and loads the provided config into it.
 	 * @param config The config to load into a script.
@@ -609,6 +608,10 @@ public class ScriptLoader {
 		ParserInstance parser = getParser();
 		List<Structure> structures = new ArrayList<Structure>();
 		Script script = new Script(config, structures);
+		if (SkriptConfig.enableScriptCaching.value())
+			script.addData(ParseCache.load(script));
+		if (SkriptConfig.parseMetrics.value())
+			script.addData(new ParseMetrics(script));
 		parser.setActive(script);
 
 		try {
@@ -616,31 +619,19 @@ public class ScriptLoader {
 				SkriptConfig.configs.add(config);
 			
 			try (CountingLogHandler ignored = new CountingLogHandler(SkriptLogger.FATAL).start()) {
+				StructureDigests digests = SkriptConfig.incrementalScriptReloading.value()
+					? script.getData(StructureDigests.class, StructureDigests::new) : null;
 				for (Node cnode : config.getMainNode()) {
-					if (!(cnode instanceof SectionNode)) {
-						Skript.error("invalid line - all code has to be put into triggers");
-						continue;
-					}
-					SectionNode node = (SectionNode) cnode;
-
-					String line = node.getKey();
-					if (line == null)
-						continue;
-
-					if (!SkriptParser.validateLine(line))
-						continue;
-
-					if (Skript.logVeryHigh() && !Skript.debug())
-						Skript.info("loading trigger '" + line + "'");
-
-					line = replaceOptions(line);
-
-					Structure structure = Structure.parse(line, node, "Can't understand this structure: " + line);
+					// The digest must be computed before parsing, as structures may modify their nodes
+					String digest = digests != null && cnode instanceof SectionNode ? digest((SectionNode) cnode) : null;
 
+					Structure structure = parseStructure(cnode);
 					if (structure == null)
 						continue;
 
 					structures.add(structure);
+					if (digest != null)
+						digests.digests.put(structure, digest);
 				}
 				
 				if (Skript.logHigh()) {
@@ -682,6 +673,35 @@ public class ScriptLoader {
 		return new NonNullPair<Script, List<Structure>>(script, structures);
 	}
 
+	/**
+	 * Parses a top-level node of a script as a {@link Structure}.
+	 * The parser must be active for the script the node belongs to.
+	 * @param cnode The node to parse.
+	 * @return The parsed structure, or null if the node is not a valid structure. An error is printed in that case.
+	 */
+	@Nullable
+	private static Structure parseStructure(Node cnode) {
+		if (!(cnode instanceof SectionNode)) {
+			Skript.error("invalid line - all code has to be put into triggers");
+			return null;
+		}
+		SectionNode node = (SectionNode) cnode;
+
+		String line = node.getKey();
+		if (line == null)
+			return null;
+
+		if (!SkriptParser.validateLine(line))
+			return null;
+
+		if (Skript.logVeryHigh() && !Skript.debug())
+			Skript.info("loading trigger '" + line + "'");
+
+		line = replaceOptions(line);
+
+		return Structure.parse(line, node, "Can't understand this structure: " + line);
+	}
+
 	/*
 	 * Script Structure Loading Methods
 	 */
@@ -836,6 +856,8 @@ public class ScriptLoader {
 			disabledScripts.add(new File(scriptFile.getParentFile(), DISABLED_SCRIPT_PREFIX + scriptFile.getName()));
 		}
 
+		RuntimeErrorReporter.forget(scripts);
+
 		return info;
 	}
 	
@@ -869,6 +891,21 @@ public class ScriptLoader {
 	 * @return Info on the loaded Scripts.
 	 */
 	public static CompletableFuture<ScriptInfo> reloadScripts(Set<Script> scripts, OpenCloseable openCloseable) {
+		ScriptInfo reloaded = new ScriptInfo();
+		if (SkriptConfig.incrementalScriptReloading.value()) {
+			scripts = new LinkedHashSet<Script>(scripts);
+			Iterator<Script> iterator = scripts.iterator();
+			while (iterator.hasNext()) {
+				ScriptInfo info = reloadIncrementally(iterator.next(), openCloseable);
+				if (info != null) {
+					reloaded.add(info);
+					iterator.remove();
+				}
+			}
+			if (scripts.isEmpty())
+				return CompletableFuture.completedFuture(reloaded);
+		}
+
 		unloadScripts(scripts);
 
 		List<Config> configs = new ArrayList<Config>();
@@ -876,11 +913,197 @@ public class ScriptLoader {
 			//noinspection ConstantConditions - getFile should never return null
 			Config config = loadStructure(script.getConfig().getFile());
 			if (config == null)
-				return CompletableFuture.completedFuture(new ScriptInfo());
+				return CompletableFuture.completedFuture(reloaded);
 			configs.add(config);
 		}
 
-		return loadScripts(configs, openCloseable);
+		return loadScripts(configs, openCloseable).thenApply(info -> {
+			info.add(reloaded);
+			return info;
+		});
+	}
+
+	/**
+	 * Reloads only the structures of a script that have changed since it was loaded.
+	 * Structures whose source is unchanged stay loaded as they are,
+	 *  removed or modified structures are unloaded, and new or modified structures are loaded.
+	 * <br>
+	 * This is only possible if none of the added or removed structures may affect how other structures are parsed,
+	 *  i.e. all of them have a priority of at least {@link StructFunction#PRIORITY}.
+	 * Options and variables structures, for example, require the whole script to be reloaded.
+	 * @param script The script to reload.
+	 * @param openCloseable An {@link OpenCloseable} that will be called before and after loading the changed structures.
+	 * @return Info on the reloaded script, or null if the script has to be reloaded completely.
+	 * Nothing has been unloaded if null is returned.
+	 */
+	@Nullable
+	private static ScriptInfo reloadIncrementally(Script script, OpenCloseable openCloseable) {
+		StructureDigests digests = script.getData(StructureDigests.class);
+		File file = script.getConfig().getFile();
+		if (digests == null || file == null || !file.isFile() || !loadedScripts.contains(script))
+			return null;
+
+		Config config = loadStructure(file);
+		if (config == null)
+			return null;
+
+		// match the current top-level nodes against the loaded structures
+		Map<String, Deque<Structure>> unchanged = new HashMap<String, Deque<Structure>>();
+		for (Structure structure : script.getStructures()) {
+			String digest = digests.digests.get(structure);
+			if (digest == null) // loaded without a digest, we can't tell whether it has changed
+				return null;
+			unchanged.computeIfAbsent(digest, key -> new ArrayDeque<Structure>()).add(structure);
+		}
+
+		List<Node> nodes = new ArrayList<Node>();
+		List<Structure> kept = new ArrayList<Structure>();
+		Map<Node, String> added = new IdentityHashMap<Node, String>();
+		for (Node node : config.getMainNode()) {
+			String digest = node instanceof SectionNode ? digest((SectionNode) node) : null;
+			Deque<Structure> matches = digest != null ? unchanged.get(digest) : null;
+			Structure structure = matches != null ? matches.poll() : null;
+			if (structure != null) {
+				kept.add(structure);
+			} else {
+				added.put(node, digest);
+			}
+			nodes.add(node);
+		}
+
+		List<Structure> removed = new ArrayList<Structure>();
+		for (Deque<Structure> structures : unchanged.values())
+			removed.addAll(structures);
+		for (Structure structure : removed) {
+			if (structure.getPriority().compareTo(StructFunction.PRIORITY) < 0)
+				return null;
+		}
+
+		if (removed.isEmpty() && added.isEmpty()) // Nothing to reload
+			return new ScriptInfo(1, kept.size());
+
+		BaseSkript.getPluginManager().callEvent(new PreScriptLoadEvent(Collections.singletonList(config)));
+
+		ParserInstance parser = getParser();
+		try {
+			openCloseable.open();
+
+			// parse the new structures, keeping the order of the file
+			List<Structure> structures = new ArrayList<Structure>();
+			List<Structure> parsed = new ArrayList<Structure>();
+			Map<Structure, String> parsedDigests = new IdentityHashMap<Structure, String>();
+			Iterator<Structure> keptIterator = kept.iterator();
+			parser.setActive(script);
+			RetainingLogHandler log = SkriptLogger.startRetainingLog();
+			try {
+				for (Node node : nodes) {
+					if (!added.containsKey(node)) {
+						structures.add(keptIterator.next());
+						continue;
+					}
+					Structure structure = parseStructure(node);
+					if (structure == null)
+						continue;
+					if (structure.getPriority().compareTo(StructFunction.PRIORITY) < 0) {
+						log.clear();
+						return null;
+					}
+					structures.add(structure);
+					parsed.add(structure);
+					String digest = added.get(node);
+					if (digest != null)
+						parsedDigests.put(structure, digest);
+				}
+			} finally {
+				log.printLog();
+				parser.setInactive();
+			}
+
+			// unload the removed structures
+			Set<Node> removedNodes = Collections.newSetFromMap(new IdentityHashMap<Node, Boolean>());
+			parser.setActive(script);
+			for (Structure structure : removed) {
+				removedNodes.add(structure.getEntryContainer().getSource());
+				structure.unload();
+			}
+			for (Structure structure : removed) {
+				structure.postUnload();
+				digests.digests.remove(structure);
+			}
+			parser.setInactive();
+			Functions.removeCalls(ref -> ref.getNode() != null && isWithin(ref.getNode(), removedNodes));
+
+			// calls from the structures that stay loaded have to be validated against the new functions
+			for (Structure structure : removed) {
+				if (!(structure instanceof StructFunction))
+					continue;
+				Signature<?> signature = ((StructFunction) structure).getSignature();
+				if (signature != null)
+					Functions.revalidateScriptCalls(signature);
+			}
+
+			script.setStructures(structures);
+			digests.digests.putAll(parsedDigests);
+
+			// load the new structures
+			NonNullPair<Script, List<Structure>> pair = new NonNullPair<Script, List<Structure>>(script, structures);
+			List<NonNullPair<NonNullPair<Script, List<Structure>>, Structure>> pairs = parsed.stream()
+				.map(structure -> new NonNullPair<NonNullPair<Script, List<Structure>>, Structure>(pair, structure))
+				.sorted(Comparator.comparing(p -> p.getSecond().getPriority()))
+				.collect(Collectors.toCollection(ArrayList::new));
+
+			runLoadingStage(parser, pairs, Structure::preLoad, "preLoad");
+			runLoadingStage(parser, pairs, Structure::load, "load");
+			runLoadingStage(parser, pairs, Structure::postLoad, "postLoad");
+
+			Functions.validateFunctions();
+
+			if (Skript.logHigh())
+				Skript.info("reloaded " + parsed.size() + " and unloaded " + removed.size() + " structures of '" + config.getFileName() + "'");
+
+			return new ScriptInfo(1, structures.size());
+		} catch (Exception e) {
+			// Something went wrong, we need to make sure the exception is printed
+			throw Skript.exception(e);
+		} finally {
+			parser.setInactive();
+
+			openCloseable.close();
+		}
+	}
+
+	/**
+	 * @return Whether the node is one of the provided nodes or a descendant of one of them.
+	 */
+	private static boolean isWithin(Node node, Set<Node> parents) {
+		for (Node current = node; current != null; current = current.getParent()) {
+			if (parents.contains(current))
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * @return A digest of the source of a top-level node, used to detect which structures changed between reloads.
+	 */
+	private static String digest(SectionNode node) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			node.digest(digest);
+			return Base64.getEncoder().encodeToString(digest.digest());
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is required to be supported by every Java platform", e);
+		}
+	}
+
+	/**
+	 * The digests of the source of each structure of a script, used by {@link #reloadIncrementally(Script, OpenCloseable)}.
+	 * Only present when {@link SkriptConfig#incrementalScriptReloading} was enabled when the script was loaded.
+	 */
+	private static final class StructureDigests implements ScriptData {
+
+		private final Map<Structure, String> digests = new IdentityHashMap<Structure, String>();
+
 	}
 	
 	/*
@@ -925,13 +1148,17 @@ public class ScriptLoader {
 				continue;
 
 			if (subNode instanceof SimpleNode) {
-				long start = System.currentTimeMillis();
+				long start = System.nanoTime();
 				Statement stmt = Statement.parse(expr, "Can't understand this condition/effect: " + expr);
+				long timeTaken = System.nanoTime() - start;
+				ParseMetrics metrics = ParseMetrics.get(parser);
+				if (metrics != null)
+					metrics.recordLine(subNode, timeTaken);
 				if (stmt == null)
 					continue;
 				long requiredTime = SkriptConfig.longParseTimeWarningThreshold.value().getMilliSeconds();
 				if (requiredTime > 0) {
-					long timeTaken = System.currentTimeMillis() - start;
+					timeTaken /= 1_000_000;
 					if (timeTaken > requiredTime)
 						Skript.warning(
 							"The current line took a long time to parse (" + new Timespan(timeTaken) + ")."
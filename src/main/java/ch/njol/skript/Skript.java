@@ -501,7 +501,7 @@ public class Skript extends Listener implements Plugin {
 					public @NotNull LogResult log(final @NotNull LogEntry entry) {
 						super.log(entry);
 						if (entry.level.intLevel() >= Level.FATAL.intLevel()) {
-							logEx(entry.message); // no [Skript] prefix
+							logEx(entry.getMessage()); // no [Skript] prefix
 							return LogResult.DO_NOT_LOG;
 						} else {
 							return LogResult.LOG;
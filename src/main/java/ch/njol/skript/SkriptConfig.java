@@ -21,6 +21,7 @@ package ch.njol.skript;
 import ch.njol.skript.config.*;
 import ch.njol.skript.lang.function.Function;
 import ch.njol.skript.localization.Language;
+import ch.njol.skript.log.AsyncLogSink;
 import ch.njol.skript.log.SkriptLogger;
 import ch.njol.skript.log.Verbosity;
 import ch.njol.skript.timings.SkriptTimings;
@@ -29,6 +30,7 @@ import ch.njol.skript.util.Timespan;
 import ch.njol.skript.util.Version;
 import ch.njol.skript.variables.Variables;
 import com.ultreon.libs.events.v0.EventPriority;
+import dev.ultreon.baseskript.BaseSkript;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
@@ -133,10 +135,20 @@ public class SkriptConfig {
     public static final Option<Boolean> disableVariableStartingWithExpressionWarnings =
             new Option<Boolean>("disable starting a variable's name with an expression warnings", false);
 
-    @Deprecated
+    /**
+     * Whether parse decisions should be persisted to speed up loading unchanged scripts.
+     * @see ch.njol.skript.lang.parser.ParseCache
+     */
     public static final Option<Boolean> enableScriptCaching = new Option<Boolean>("enable script caching", false)
             .optional(true);
 
+    /**
+     * Whether reloading a script should only reload the structures that changed.
+     * @see ScriptLoader#reloadScripts(java.util.Set, ch.njol.util.OpenCloseable)
+     */
+    public static final Option<Boolean> incrementalScriptReloading = new Option<Boolean>("incremental script reloading", false)
+            .optional(true);
+
     public static final Option<Boolean> keepConfigsLoaded = new Option<Boolean>("keep configs loaded", false)
             .optional(true);
 
@@ -159,9 +171,25 @@ public class SkriptConfig {
                 SkriptTimings.setEnabled(t); // Config option will be used
             });
 
+    /**
+     * The amount of results each pure function caches.
+     *
+     * @see ch.njol.skript.lang.function.FunctionCache
+     */
+    public static final Option<Integer> pureFunctionCacheSize = new Option<Integer>("pure function cache size", 256)
+            .optional(true);
+
     public static final Option<Boolean> caseInsensitiveVariables = new Option<Boolean>("case-insensitive variables", true)
             .setter(t -> Variables.caseInsensitiveVariables = t);
 
+    /**
+     * Whether local variables with a constant name are accessed by a slot rather than by their name.
+     *
+     * @see ch.njol.skript.variables.LocalVariableSlots
+     */
+    public static final Option<Boolean> localVariableSlots = new Option<Boolean>("local variable slots", false)
+            .optional(true);
+
     public static final Option<String> scriptLoaderThreadSize = new Option<String>("script loader thread size", "0")
             .setter(s -> {
                 int asyncLoaderSize;
@@ -187,6 +215,48 @@ public class SkriptConfig {
     public static final Option<Boolean> logToConsoleUsingLogger = new Option<Boolean>("´log to console' writes using logger", false)
             .optional(true);
 
+    /**
+     * Whether console messages are written by a separate thread.
+     *
+     * @see AsyncLogSink
+     */
+    public static final Option<Boolean> asyncConsoleLogging = new Option<Boolean>("asynchronous console logging", false)
+            .optional(true);
+
+    public static final Option<Integer> asyncConsoleLogBufferSize = new Option<Integer>("asynchronous console log buffer size", 8192)
+            .optional(true);
+
+    public static final Option<AsyncLogSink.OverflowPolicy> asyncConsoleLogOverflow = new Option<AsyncLogSink.OverflowPolicy>("asynchronous console log overflow",
+            AsyncLogSink.OverflowPolicy.SUMMARIZE, new EnumParser<AsyncLogSink.OverflowPolicy>(AsyncLogSink.OverflowPolicy.class, "asynchronous console log overflow"))
+            .optional(true);
+
+    static {
+        Skript.closeOnDisable(() -> SkriptLogger.setAsyncSink(null));
+    }
+
+    /**
+     * Applies the asynchronous console logging options once the config has been loaded.
+     * The current sink is only replaced if one of the options changed.
+     */
+    private static void updateAsyncLogSink() {
+        AsyncLogSink current = SkriptLogger.getAsyncSink();
+        if (!asyncConsoleLogging.value()) {
+            if (current != null)
+                SkriptLogger.setAsyncSink(null);
+            return;
+        }
+        int bufferSize = asyncConsoleLogBufferSize.value();
+        if (bufferSize <= 0) {
+            Skript.error("The asynchronous console log buffer size must be positive, but is " + bufferSize);
+            return;
+        }
+        AsyncLogSink.OverflowPolicy overflowPolicy = asyncConsoleLogOverflow.value();
+        if (current != null && current.getCapacity() == bufferSize && current.getOverflowPolicy() == overflowPolicy)
+            return;
+        SkriptLogger.setAsyncSink(new AsyncLogSink(bufferSize, overflowPolicy,
+                message -> SkriptLogger.sendFormatted(BaseSkript.getConsoleSender(), message)));
+    }
+
     public static final Option<Boolean> keepLastUsageDates = new Option<Boolean>("keep command last usage dates", false)
             .optional(true);
 
@@ -221,6 +291,21 @@ public class SkriptConfig {
 
     public static final Option<Timespan> longParseTimeWarningThreshold = new Option<Timespan>("long parse time warning threshold", new Timespan(0));
 
+    /**
+     * How often repeated exceptions thrown by the same trigger item are counted in the console.
+     *
+     * @see ch.njol.skript.log.RuntimeErrorReporter
+     */
+    public static final Option<Timespan> runtimeErrorReportInterval = new Option<Timespan>("runtime error report interval", new Timespan(60_000))
+            .optional(true);
+
+    /**
+     * Whether parse times should be measured per line, pattern and syntax element, and reported after loading scripts.
+     * @see ch.njol.skript.lang.parser.ParseMetrics
+     */
+    public static final Option<Boolean> parseMetrics = new Option<Boolean>("parse metrics", false)
+            .optional(true);
+
     /**
      * This should only be used in special cases
      */
@@ -321,6 +406,7 @@ public class SkriptConfig {
             }
 
             mc.load(SkriptConfig.class);
+            updateAsyncLogSink();
 
 //			if (!keepConfigsLoaded.value())
 //				mainConfig = null;
@@ -71,6 +71,8 @@ public class ClassInfo<T> implements Debuggable {
 	@Nullable
 	private Serializer<? super T> serializer = null;
 	@Nullable
+	private Codec<T> codec = null;
+	@Nullable
 	private Class<?> serializeAs = null;
 	
 	@Nullable
@@ -203,6 +205,19 @@ public class ClassInfo<T> implements Debuggable {
 		return this;
 	}
 	
+	/**
+	 * Sets a compact binary encoding for values of this class, which is used to save variables instead of JSON.
+	 * Only used if this class also has a {@link #serializer(Serializer) serializer}.
+	 * 
+	 * @param codec The codec of this class
+	 * @return This ClassInfo object
+	 */
+	public ClassInfo<T> codec(final Codec<T> codec) {
+		assert this.codec == null;
+		this.codec = codec;
+		return this;
+	}
+	
 	public ClassInfo<T> serializeAs(final Class<?> serializeAs) {
 		assert this.serializeAs == null;
 		if (serializer != null)
@@ -388,6 +403,11 @@ public class ClassInfo<T> implements Debuggable {
 		return serializer;
 	}
 	
+	@Nullable
+	public Codec<T> getCodec() {
+		return codec;
+	}
+	
 	@Nullable
 	public Class<?> getSerializeAs() {
 		return serializeAs;
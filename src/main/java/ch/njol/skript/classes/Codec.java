@@ -0,0 +1,48 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.classes;
+
+import ch.njol.skript.registrations.Classes;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * A compact binary encoding of the values of a class, used by {@link Classes#serialize(Object)} to save variables.
+ * Classes without a codec are saved as JSON instead.
+ * <br>
+ * The encoding of a class must never change, as it is used to read variables saved by previous versions.
+ *
+ * @param <T> The class of the values.
+ * @see ClassInfo#codec(Codec)
+ */
+public interface Codec<T> {
+
+	/**
+	 * Writes a value. Must write exactly what {@link #read(DataInput)} reads.
+	 */
+	void write(T value, DataOutput out) throws IOException;
+
+	/**
+	 * Reads a value written by {@link #write(Object, DataOutput)}.
+	 */
+	T read(DataInput in) throws IOException;
+
+}
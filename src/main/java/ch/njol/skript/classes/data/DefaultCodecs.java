@@ -0,0 +1,177 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.classes.data;
+
+import ch.njol.skript.classes.Codec;
+import ch.njol.skript.util.Date;
+import ch.njol.skript.util.Time;
+import ch.njol.skript.util.Timespan;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The codecs of the types registered in {@link JavaClasses} and {@link SkriptClasses}.
+ */
+public final class DefaultCodecs {
+
+	private DefaultCodecs() {}
+
+	public static final Codec<Long> LONG = new Codec<Long>() {
+		@Override
+		public void write(Long value, DataOutput out) throws IOException {
+			out.writeLong(value);
+		}
+
+		@Override
+		public Long read(DataInput in) throws IOException {
+			return in.readLong();
+		}
+	};
+
+	public static final Codec<Integer> INTEGER = new Codec<Integer>() {
+		@Override
+		public void write(Integer value, DataOutput out) throws IOException {
+			out.writeInt(value);
+		}
+
+		@Override
+		public Integer read(DataInput in) throws IOException {
+			return in.readInt();
+		}
+	};
+
+	public static final Codec<Short> SHORT = new Codec<Short>() {
+		@Override
+		public void write(Short value, DataOutput out) throws IOException {
+			out.writeShort(value);
+		}
+
+		@Override
+		public Short read(DataInput in) throws IOException {
+			return in.readShort();
+		}
+	};
+
+	public static final Codec<Byte> BYTE = new Codec<Byte>() {
+		@Override
+		public void write(Byte value, DataOutput out) throws IOException {
+			out.writeByte(value);
+		}
+
+		@Override
+		public Byte read(DataInput in) throws IOException {
+			return in.readByte();
+		}
+	};
+
+	public static final Codec<Double> DOUBLE = new Codec<Double>() {
+		@Override
+		public void write(Double value, DataOutput out) throws IOException {
+			out.writeDouble(value);
+		}
+
+		@Override
+		public Double read(DataInput in) throws IOException {
+			return in.readDouble();
+		}
+	};
+
+	public static final Codec<Float> FLOAT = new Codec<Float>() {
+		@Override
+		public void write(Float value, DataOutput out) throws IOException {
+			out.writeFloat(value);
+		}
+
+		@Override
+		public Float read(DataInput in) throws IOException {
+			return in.readFloat();
+		}
+	};
+
+	public static final Codec<Boolean> BOOLEAN = new Codec<Boolean>() {
+		@Override
+		public void write(Boolean value, DataOutput out) throws IOException {
+			out.writeBoolean(value);
+		}
+
+		@Override
+		public Boolean read(DataInput in) throws IOException {
+			return in.readBoolean();
+		}
+	};
+
+	/**
+	 * Texts are written as UTF-8 bytes after their length, as {@link DataOutput#writeUTF(String)} is limited to 65535 bytes.
+	 */
+	public static final Codec<String> STRING = new Codec<String>() {
+		@Override
+		public void write(String value, DataOutput out) throws IOException {
+			byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+			out.writeInt(bytes.length);
+			out.write(bytes);
+		}
+
+		@Override
+		public String read(DataInput in) throws IOException {
+			byte[] bytes = new byte[in.readInt()];
+			in.readFully(bytes);
+			return new String(bytes, StandardCharsets.UTF_8);
+		}
+	};
+
+	public static final Codec<Timespan> TIMESPAN = new Codec<Timespan>() {
+		@Override
+		public void write(Timespan value, DataOutput out) throws IOException {
+			out.writeLong(value.getMilliSeconds());
+		}
+
+		@Override
+		public Timespan read(DataInput in) throws IOException {
+			return new Timespan(in.readLong());
+		}
+	};
+
+	public static final Codec<Date> DATE = new Codec<Date>() {
+		@Override
+		public void write(Date value, DataOutput out) throws IOException {
+			out.writeLong(value.getTimestamp());
+		}
+
+		@Override
+		public Date read(DataInput in) throws IOException {
+			return new Date(in.readLong());
+		}
+	};
+
+	public static final Codec<Time> TIME = new Codec<Time>() {
+		@Override
+		public void write(Time value, DataOutput out) throws IOException {
+			out.writeInt(value.getTicks());
+		}
+
+		@Override
+		public Time read(DataInput in) throws IOException {
+			return new Time(in.readInt());
+		}
+	};
+
+}
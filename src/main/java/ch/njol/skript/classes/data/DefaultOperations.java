@@ -20,41 +20,36 @@ package ch.njol.skript.classes.data;
 
 import ch.njol.skript.util.Date;
 import ch.njol.skript.util.Timespan;
-import ch.njol.skript.util.Utils;
 import ch.njol.util.Math2;
 import org.skriptlang.skript.lang.arithmetic.Arithmetics;
+import org.skriptlang.skript.lang.arithmetic.NumericOperation;
 import org.skriptlang.skript.lang.arithmetic.Operator;
 
 public class DefaultOperations {
 
 	static {
 		// Number - Number
-		Arithmetics.registerOperation(Operator.ADDITION, Number.class, (left, right) -> {
-			if (Utils.isInteger(left, right))
-				return left.longValue() + right.longValue();
-			return left.doubleValue() + right.doubleValue();
-		});
-		Arithmetics.registerOperation(Operator.SUBTRACTION, Number.class, (left, right) -> {
-			if (Utils.isInteger(left, right))
-				return left.longValue() - right.longValue();
-			return left.doubleValue() - right.doubleValue();
-		});
-		Arithmetics.registerOperation(Operator.MULTIPLICATION, Number.class, (left, right) -> {
-			if (Utils.isInteger(left, right))
-				return left.longValue() * right.longValue();
-			return left.doubleValue() * right.doubleValue();
-		});
-		Arithmetics.registerOperation(Operator.DIVISION, Number.class, (left, right) -> left.doubleValue() / right.doubleValue());
-		Arithmetics.registerOperation(Operator.EXPONENTIATION, Number.class, (left, right) -> {
-			if (Utils.isInteger(left, right) && right.longValue() >= 0)
-				return (long) Math.pow(left.longValue(), right.longValue());
-			return Math.pow(left.doubleValue(), right.doubleValue());
-		});
-		Arithmetics.registerDifference(Number.class, (left, right) -> {
-			if (Utils.isInteger(left, right))
-				return Math.abs(left.longValue() - right.longValue());
-			return Math.abs(left.doubleValue() - right.doubleValue());
+		Arithmetics.registerOperation(Operator.ADDITION, Number.class, NumericOperation.of((left, right) -> left + right, (left, right) -> left + right));
+		Arithmetics.registerOperation(Operator.SUBTRACTION, Number.class, NumericOperation.of((left, right) -> left - right, (left, right) -> left - right));
+		Arithmetics.registerOperation(Operator.MULTIPLICATION, Number.class, NumericOperation.of((left, right) -> left * right, (left, right) -> left * right));
+		Arithmetics.registerOperation(Operator.DIVISION, Number.class, NumericOperation.of((left, right) -> left / right));
+		Arithmetics.registerOperation(Operator.EXPONENTIATION, Number.class, new NumericOperation() {
+			@Override
+			public long calculate(long left, long right) {
+				return (long) Math.pow(left, right);
+			}
+
+			@Override
+			public double calculate(double left, double right) {
+				return Math.pow(left, right);
+			}
+
+			@Override
+			public boolean isIntegral(long left, long right) {
+				return right >= 0;
+			}
 		});
+		Arithmetics.registerDifference(Number.class, NumericOperation.of((left, right) -> Math.abs(left - right), (left, right) -> Math.abs(left - right)));
 		Arithmetics.registerDefaultValue(Number.class, () -> 0L);
 
 		// Timespan - Timespan
@@ -155,7 +155,8 @@ public class JavaClasses {
 				public String toVariableNameString(Long l) {
 					return "" + l;
 				}
-			}).serializer(new Serializer<Long>() {
+			}).codec(DefaultCodecs.LONG)
+			.serializer(new Serializer<Long>() {
 				@Override
 				public Fields serialize(Long n) {
 					throw new IllegalStateException(); // serialised natively by Yggdrasil
@@ -212,7 +213,8 @@ public class JavaClasses {
 				public String toVariableNameString(Integer i) {
 					return "" + i;
 				}
-			}).serializer(new Serializer<Integer>() {
+			}).codec(DefaultCodecs.INTEGER)
+			.serializer(new Serializer<Integer>() {
 				@Override
 				public Fields serialize(Integer n) {
 					throw new IllegalStateException(); // serialised natively by Yggdrasil
@@ -274,7 +276,8 @@ public class JavaClasses {
 				public String toVariableNameString(Double d) {
 					return StringUtils.toString(d, VARIABLENAME_NUMBERACCURACY);
 				}
-			}).serializer(new Serializer<Double>() {
+			}).codec(DefaultCodecs.DOUBLE)
+			.serializer(new Serializer<Double>() {
 				@Override
 				public Fields serialize(Double n) {
 					throw new IllegalStateException(); // serialised natively by Yggdrasil
@@ -335,7 +338,8 @@ public class JavaClasses {
 				public String toVariableNameString(Float f) {
 					return StringUtils.toString(f.doubleValue(), VARIABLENAME_NUMBERACCURACY);
 				}
-			}).serializer(new Serializer<Float>() {
+			}).codec(DefaultCodecs.FLOAT)
+			.serializer(new Serializer<Float>() {
 				@Override
 				public Fields serialize(Float n) {
 					throw new IllegalStateException(); // serialised natively by Yggdrasil
@@ -400,7 +404,8 @@ public class JavaClasses {
 				public String toVariableNameString(Boolean b) {
 					return "" + b;
 				}
-			}).serializer(new Serializer<Boolean>() {
+			}).codec(DefaultCodecs.BOOLEAN)
+			.serializer(new Serializer<Boolean>() {
 				@Override
 				public Fields serialize(Boolean n) {
 					throw new IllegalStateException(); // serialised natively by Yggdrasil
@@ -457,7 +462,8 @@ public class JavaClasses {
 				public String toVariableNameString(Short s) {
 					return "" + s;
 				}
-			}).serializer(new Serializer<Short>() {
+			}).codec(DefaultCodecs.SHORT)
+			.serializer(new Serializer<Short>() {
 				@Override
 				public Fields serialize(Short n) {
 					throw new IllegalStateException(); // serialised natively by Yggdrasil
@@ -514,7 +520,8 @@ public class JavaClasses {
 				public String toVariableNameString(Byte b) {
 					return "" + b;
 				}
-			}).serializer(new Serializer<Byte>() {
+			}).codec(DefaultCodecs.BYTE)
+			.serializer(new Serializer<Byte>() {
 				@Override
 				public Fields serialize(Byte n) {
 					throw new IllegalStateException(); // serialised natively by Yggdrasil
@@ -603,7 +610,8 @@ public class JavaClasses {
 				public String toVariableNameString(String s) {
 					return s;
 				}
-			}).serializer(new Serializer<String>() {
+			}).codec(DefaultCodecs.STRING)
+			.serializer(new Serializer<String>() {
 				@Override
 				public Fields serialize(String n) {
 					throw new IllegalStateException(); // serialised natively by Yggdrasil
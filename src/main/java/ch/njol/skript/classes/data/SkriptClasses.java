@@ -153,7 +153,8 @@ public class SkriptClasses {
 				public String toVariableNameString(final Time o) {
 					return "time:" + o.getTicks();
 				}
-			}).serializer(new YggdrasilSerializer<Time>()));
+			}).codec(DefaultCodecs.TIME)
+			.serializer(new YggdrasilSerializer<Time>()));
 
 		Classes.registerClass(new ClassInfo<Timespan>(Timespan.class, "timespan")
 			.user("time ?spans?")
@@ -191,7 +192,8 @@ public class SkriptClasses {
 				public String toVariableNameString(final Timespan o) {
 					return "timespan:" + o.getMilliSeconds();
 				}
-			}).serializer(new YggdrasilSerializer<Timespan>()));
+			}).codec(DefaultCodecs.TIMESPAN)
+			.serializer(new YggdrasilSerializer<Timespan>()));
 
 		// TODO remove
 		Classes.registerClass(new ClassInfo<Timeperiod>(Timeperiod.class, "timeperiod")
@@ -253,6 +255,7 @@ public class SkriptClasses {
 				"subtract a day from {_yesterday}",
 				"# now {_yesterday} represents the date 24 hours before now")
 			.since("1.4")
+			.codec(DefaultCodecs.DATE)
 			.serializer(new YggdrasilSerializer<Date>()));
 
 		Classes.registerClass(new ClassInfo<Color>(Color.class, "color")
@@ -20,6 +20,7 @@ package ch.njol.skript.conditions;
 
 import ch.njol.skript.Skript;
 import ch.njol.skript.classes.ClassInfo;
+import ch.njol.skript.classes.data.DefaultComparators;
 import ch.njol.skript.doc.Description;
 import ch.njol.skript.doc.Examples;
 import ch.njol.skript.doc.Name;
@@ -38,6 +39,7 @@ import ch.njol.util.Kleenean;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.skriptlang.skript.lang.comparator.Comparator;
+import org.skriptlang.skript.lang.comparator.ComparatorCache;
 import org.skriptlang.skript.lang.comparator.ComparatorInfo;
 import org.skriptlang.skript.lang.comparator.Comparators;
 import org.skriptlang.skript.lang.comparator.Relation;
@@ -99,6 +101,11 @@ public class CondCompare extends Condition {
 	@Nullable
 	@SuppressWarnings("rawtypes")
 	private Comparator comparator;
+
+	/**
+	 * Used to compare values when no {@link #comparator} could be determined at parse time.
+	 */
+	private final ComparatorCache comparatorCache = new ComparatorCache();
 	
 	@Override
 	public boolean init(final Expression<?> @NotNull [] vars, final int matchedPattern, final @NotNull Kleenean isDelayed, final @NotNull ParseResult parser) {
@@ -335,33 +342,19 @@ public class CondCompare extends Condition {
 		return first.check(e, (Checker<Object>) o1 ->
 			second.check(e, (Checker<Object>) o2 -> {
 				if (third == null)
-					return relation.isImpliedBy(comparator != null ? comparator.compare(o1, o2) : Comparators.compare(o1, o2));
+					return relation.isImpliedBy(compare(o1, o2));
 				return third.check(e, (Checker<Object>) o3 -> {
 					boolean isBetween;
-					if (comparator != null) {
-						if (o1 instanceof Cyclical<?> && o2 instanceof Cyclical<?> && o3 instanceof Cyclical<?>) {
-							if (Relation.GREATER_OR_EQUAL.isImpliedBy(comparator.compare(o2, o3)))
-								isBetween = Relation.GREATER_OR_EQUAL.isImpliedBy(comparator.compare(o1, o2)) || Relation.SMALLER_OR_EQUAL.isImpliedBy(comparator.compare(o1, o3));
-							else
-								isBetween = Relation.GREATER_OR_EQUAL.isImpliedBy(comparator.compare(o1, o2)) && Relation.SMALLER_OR_EQUAL.isImpliedBy(comparator.compare(o1, o3));
-						} else {
-							isBetween =
-								(Relation.GREATER_OR_EQUAL.isImpliedBy(comparator.compare(o1, o2)) && Relation.SMALLER_OR_EQUAL.isImpliedBy(comparator.compare(o1, o3)))
-								// Check OPPOSITE (switching o2 / o3)
-								|| (Relation.GREATER_OR_EQUAL.isImpliedBy(comparator.compare(o1, o3)) && Relation.SMALLER_OR_EQUAL.isImpliedBy(comparator.compare(o1, o2)));
-						}
+					if (o1 instanceof Cyclical<?> && o2 instanceof Cyclical<?> && o3 instanceof Cyclical<?>) {
+						if (Relation.GREATER_OR_EQUAL.isImpliedBy(compare(o2, o3)))
+							isBetween = Relation.GREATER_OR_EQUAL.isImpliedBy(compare(o1, o2)) || Relation.SMALLER_OR_EQUAL.isImpliedBy(compare(o1, o3));
+						else
+							isBetween = Relation.GREATER_OR_EQUAL.isImpliedBy(compare(o1, o2)) && Relation.SMALLER_OR_EQUAL.isImpliedBy(compare(o1, o3));
 					} else {
-						if (o1 instanceof Cyclical<?> && o2 instanceof Cyclical<?> && o3 instanceof Cyclical<?>) {
-							if (Relation.GREATER_OR_EQUAL.isImpliedBy(Comparators.compare(o2, o3)))
-								isBetween = Relation.GREATER_OR_EQUAL.isImpliedBy(Comparators.compare(o1, o2)) || Relation.SMALLER_OR_EQUAL.isImpliedBy(Comparators.compare(o1, o3));
-							else
-								isBetween = Relation.GREATER_OR_EQUAL.isImpliedBy(Comparators.compare(o1, o2)) && Relation.SMALLER_OR_EQUAL.isImpliedBy(Comparators.compare(o1, o3));
-						} else {
-							isBetween =
-									(Relation.GREATER_OR_EQUAL.isImpliedBy(Comparators.compare(o1, o2)) && Relation.SMALLER_OR_EQUAL.isImpliedBy(Comparators.compare(o1, o3)))
-									// Check OPPOSITE (switching o2 / o3)
-									|| (Relation.GREATER_OR_EQUAL.isImpliedBy(Comparators.compare(o1, o3)) && Relation.SMALLER_OR_EQUAL.isImpliedBy(Comparators.compare(o1, o2)));
-						}
+						isBetween =
+							(Relation.GREATER_OR_EQUAL.isImpliedBy(compare(o1, o2)) && Relation.SMALLER_OR_EQUAL.isImpliedBy(compare(o1, o3)))
+							// Check OPPOSITE (switching o2 / o3)
+							|| (Relation.GREATER_OR_EQUAL.isImpliedBy(compare(o1, o3)) && Relation.SMALLER_OR_EQUAL.isImpliedBy(compare(o1, o2)));
 					}
 					return relation == Relation.NOT_EQUAL ^ isBetween;
 				});
@@ -369,6 +362,16 @@ public class CondCompare extends Condition {
 		), isNegated());
 	}
 	
+	@SuppressWarnings("unchecked")
+	private Relation compare(Object o1, Object o2) {
+		if (comparator != null)
+			return comparator.compare(o1, o2);
+		// Operands that aren't statically typed (e.g. variables) are most commonly numbers, which don't need a comparator lookup
+		if (o1 != o2 && o1 instanceof Number && o2 instanceof Number)
+			return DefaultComparators.NUMBER_COMPARATOR.compare((Number) o1, (Number) o2);
+		return comparatorCache.compare(o1, o2);
+	}
+	
 	@Override
 	public @NotNull String toString(final @Nullable Object e, final boolean debug) {
 		String s;
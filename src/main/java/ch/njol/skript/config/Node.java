@@ -25,8 +25,6 @@ import ch.njol.util.StringUtils;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.PrintWriter;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * @author Peter Güttinger
@@ -114,9 +112,6 @@ public abstract class Node {
 		newParent.add(this);
 	}
 	
-	@SuppressWarnings("null")
-	private final static Pattern linePattern = Pattern.compile("^((?:[^#]|##)*)(\\s*#(?!#).*)$");
-	
 	/**
 	 * Splits a line into value and comment.
 	 * <p>
@@ -127,18 +122,35 @@ public abstract class Node {
 	 * @return A pair (value, comment).
 	 */
 	public static NonNullPair<String, String> splitLine(final String line) {
+		final int commentStart = getCommentStart(line);
+		if (commentStart == -1)
+			return new NonNullPair<String, String>(line.indexOf('#') == -1 ? line : line.replace("##", "#"), "");
 		if (line.trim().startsWith("#"))
 			return new NonNullPair<String, String>("", line.substring(line.indexOf('#')));
-		final Matcher m = linePattern.matcher(line);
-		boolean matches = false;
-		try {
-			matches = line.contains("#") && m.matches();
-		} catch (StackOverflowError e) { // Probably a very long line
-			handleNodeStackOverflow(e, line);
+		return new NonNullPair<String, String>(line.substring(0, commentStart).replace("##", "#"), line.substring(commentStart));
+	}
+	
+	/**
+	 * Finds the start of the comment of a line, i.e. the first # that is not escaped as ##.
+	 * 
+	 * @param line
+	 * @return The index of the comment's #, or -1 if the line has no comment. Lines that start with a # (after whitespace) are always comments.
+	 */
+	static int getCommentStart(final String line) {
+		int i = line.indexOf('#');
+		if (i == -1)
+			return -1;
+		if (line.trim().startsWith("#"))
+			return i;
+		final int length = line.length();
+		while (i != -1) {
+			if (i + 1 < length && line.charAt(i + 1) == '#') { // escaped
+				i = line.indexOf('#', i + 2);
+			} else {
+				return i;
+			}
 		}
-		if (matches)
-			return new NonNullPair<String, String>(m.group(1).replace("##", "#"), m.group(2));
-		return new NonNullPair<String, String>(line.replace("##", "#"), "");
+		return -1;
 	}
 	
 	static void handleNodeStackOverflow(StackOverflowError e, String line) {
@@ -31,10 +31,11 @@ import org.jetbrains.annotations.Nullable;
 
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
-import java.util.regex.Pattern;
 
 /**
  * @author Peter Güttinger
@@ -240,6 +241,37 @@ public class SectionNode extends Node implements Iterable<Node> {
 		return true;
 	}
 	
+	/**
+	 * Feeds the key of this section and the keys and values of all its non-void nodes into the provided digest.
+	 * Comments and line numbers are not included, so two sections with equal digests contain the same code.
+	 * <br>
+	 * Unlike iterating this section, this does not change the node used by the logger.
+	 * 
+	 * @param digest The digest to update
+	 */
+	public void digest(final MessageDigest digest) {
+		digest(digest, key == null ? "" : key);
+		digest.update((byte) '{');
+		for (final Node node : nodes) {
+			if (node.isVoid())
+				continue;
+			if (node instanceof SectionNode) {
+				((SectionNode) node).digest(digest);
+			} else {
+				final String key = node.key;
+				digest(digest, key == null ? "" : key);
+				if (node instanceof EntryNode)
+					digest(digest, ((EntryNode) node).getValue());
+			}
+		}
+		digest.update((byte) '}');
+	}
+	
+	private static void digest(final MessageDigest digest, final String string) {
+		digest.update(string.getBytes(StandardCharsets.UTF_8));
+		digest.update((byte) 0);
+	}
+	
 	static SectionNode load(final Config c, final ConfigReader r) throws IOException {
 		return new SectionNode(c).load_i(r);
 	}
@@ -260,7 +292,31 @@ public class SectionNode extends Node implements Iterable<Node> {
 		return "'" + s.replace("\t", "->").replace(' ', '_').replaceAll("\\s", "?") + "' [-> = tab, _ = space, ? = other whitespace]";
 	}
 	
-	private static final Pattern fullLinePattern = Pattern.compile("([^#]|##)*#-#(\\s.*)?");
+	/**
+	 * @return The amount of whitespace characters (as matched by \s in regular expressions) the string starts with.
+	 */
+	private static int leadingWhitespace(final String s) {
+		int i = 0;
+		while (i < s.length() && isWhitespace(s.charAt(i)))
+			i++;
+		return i;
+	}
+	
+	private static boolean isWhitespace(final char c) {
+		return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+	}
+	
+	private static boolean isRepeated(final String s, final char c) {
+		for (int i = 0; i < s.length(); i++) {
+			if (s.charAt(i) != c)
+				return false;
+		}
+		return !s.isEmpty();
+	}
+	
+	private static boolean isFullLine(final String comment) {
+		return comment.startsWith("#-#") && (comment.length() == 3 || isWhitespace(comment.charAt(3)));
+	}
 	
 	private final SectionNode load_i(final ConfigReader r) throws IOException {
 		boolean indentationSet = false;
@@ -273,10 +329,11 @@ public class SectionNode extends Node implements Iterable<Node> {
 			final String comment = line.getSecond();
 			
 			final SectionNode parent = this.parent;
-			if (!indentationSet && parent != null && parent.parent == null && !value.isEmpty() && !value.matches("\\s*") && !value.matches("\\S.*")) {
-				final String s = value.replaceFirst("\\S.*$", "");
-				assert !s.isEmpty() : fullLine;
-				if (s.matches(" +") || s.matches("\t+")) {
+			final int leading = leadingWhitespace(value);
+			final boolean blank = leading == value.length();
+			if (!indentationSet && parent != null && parent.parent == null && !blank && leading != 0) {
+				final String s = value.substring(0, leading);
+				if (isRepeated(s, ' ') || isRepeated(s, '\t')) {
 					config.setIndentation(s);
 					indentationSet = true;
 				} else {
@@ -285,11 +342,18 @@ public class SectionNode extends Node implements Iterable<Node> {
 					continue;
 				}
 			}
-			if (!value.matches("\\s*") && !value.matches("^(" + config.getIndentation() + "){" + config.level + "}\\S.*")) {
-				if (value.matches("^(" + config.getIndentation() + "){" + config.level + "}\\s.*") || !value.matches("^(" + config.getIndentation() + ")*\\S.*")) {
+			final String indentation = config.getIndentation();
+			final int expected = config.level * indentation.length();
+			int indents = 0, end = 0; // the amount of whole indentations the line starts with, and where they end
+			while (value.startsWith(indentation, end)) {
+				end += indentation.length();
+				indents++;
+			}
+			if (!blank && (indents != config.level || end != leading)) {
+				if (indents >= config.level && leading > expected || end != leading) {
 					nodes.add(new InvalidNode(value, comment, this, r.getLineNum()));
-					final String s = value.replaceFirst("\\S.*$", "");
-					Skript.error("indentation error: expected " + config.level * config.getIndentation().length() + " " + config.getIndentationName() + (config.level * config.getIndentation().length() == 1 ? "" : "s") + ", but found " + readableWhitespace(s));
+					final String s = value.substring(0, leading);
+					Skript.error("indentation error: expected " + expected + " " + config.getIndentationName() + (expected == 1 ? "" : "s") + ", but found " + readableWhitespace(s));
 					continue;
 				} else {
 					if (parent != null && !config.allowEmptySections && isEmpty()) {
@@ -336,13 +400,8 @@ public class SectionNode extends Node implements Iterable<Node> {
 					|| value.indexOf(config.separator) == -1
 					|| config.separator.endsWith(":") && value.indexOf(config.separator) == value.length() - config.separator.length()
 					)) {
-				boolean matches = false;
-				try {
-					matches = fullLine.contains("#") && fullLinePattern.matcher(fullLine).matches();
-				} catch (StackOverflowError e) { // Probably a very long line
-					Node.handleNodeStackOverflow(e, fullLine);
-				}
-				if (!matches) {
+				// '#-#' at the start of the comment marks a line ending in a colon that is not a section
+				if (!isFullLine(comment)) {
 					nodes.add(SectionNode.load(value.substring(0, value.length() - 1), comment, this, r));
 					continue;
 				}
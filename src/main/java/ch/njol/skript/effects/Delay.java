@@ -29,13 +29,13 @@ import ch.njol.skript.timings.SkriptTimings;
 import ch.njol.skript.util.Timespan;
 import ch.njol.skript.variables.Variables;
 import ch.njol.util.Kleenean;
+import com.google.common.collect.MapMaker;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import dev.ultreon.baseskript.BaseSkript;
 
 import java.util.Collections;
 import java.util.Set;
-import java.util.WeakHashMap;
 
 @Name("Delay")
 @Description("Delays the script's execution by a given timespan. Please note that delays are not persistent, e.g. trying to create a tempban script with <code>ban player → wait 7 days → unban player</code> will not work if you restart your server anytime within these 7 days. You also have to be careful even when using small delays!")
@@ -118,8 +118,11 @@ public class Delay extends Effect {
 		return "wait for " + duration.toString(event, debug) + (event == null ? "" : "...");
 	}
 
-	private static final Set<Object> DELAYED =
-		Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<Object, Boolean>()));
+	/**
+	 * Events whose execution has been delayed. Events are weakly referenced and compared by identity.
+	 * The set is concurrent rather than synchronized, as every executed delay adds to it.
+	 */
+	private static final Set<Object> DELAYED = Collections.newSetFromMap(new MapMaker().weakKeys().<Object, Boolean>makeMap());
 
 	/**
 	 * The main method for checking if the execution of {@link TriggerItem}s has been delayed.
@@ -100,11 +100,10 @@ public class EffReturn extends Effect {
 	
 	@Override
 	@Nullable
-	@SuppressWarnings({"unchecked", "rawtypes"})
 	protected TriggerItem walk(@NotNull Object event) {
 		debug(event, false);
 		if (event instanceof FunctionEvent) {
-			((ScriptFunction) function).setReturnValue(value.getArray(event));
+			((FunctionEvent<?>) event).setReturnValue(value.getArray(event));
 		} else {
 			assert false : event;
 		}
@@ -25,6 +25,7 @@ import ch.njol.skript.doc.Name;
 import ch.njol.skript.doc.Since;
 import ch.njol.skript.lang.Expression;
 import ch.njol.skript.lang.ExpressionType;
+import ch.njol.skript.lang.PureExpression;
 import ch.njol.skript.lang.SkriptParser.ParseResult;
 import ch.njol.skript.lang.util.SimpleExpression;
 import ch.njol.util.Kleenean;
@@ -40,7 +41,7 @@ import org.jetbrains.annotations.Nullable;
 		"if {_s} contains \"abc\":",
 		"\tset {_s} to the first (index of \"abc\" in {_s} + 3) characters of {_s} # removes everything after the first \"abc\" from {_s}"})
 @Since("2.1")
-public class ExprIndexOf extends SimpleExpression<Long> {
+public class ExprIndexOf extends SimpleExpression<Long> implements PureExpression<Long> {
 
 	static {
 		Skript.registerExpression(ExprIndexOf.class, Long.class, ExpressionType.COMBINED, "[the] (0¦|0¦first|1¦last) index of %string% in %string%");
@@ -70,6 +71,11 @@ public class ExprIndexOf extends SimpleExpression<Long> {
 		return new Long[] {(long) (i == -1 ? -1 : i + 1)};
 	}
 	
+	@Override
+	public Expression<?>[] getInputs() {
+		return new Expression<?>[] {needle, haystack};
+	}
+	
 	@Override
 	public boolean isSingle() {
 		return true;
@@ -33,6 +33,7 @@ import ch.njol.util.Kleenean;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Comparator;
 import java.util.Map;
 import java.util.Map.Entry;
 
@@ -99,11 +100,22 @@ public class ExprIndices extends SimpleExpression<String> {
 		}
 
 		if (sort) {
-			int direction = descending ? -1 : 1;
-			return variable.entrySet().stream()
-				.sorted((a, b) -> ExprSortedList.compare(a.getValue(), b.getValue()) * direction)
-				.map(Entry::getKey)
-				.toArray(String[]::new);
+			@SuppressWarnings("unchecked")
+			Entry<String, Object>[] entries = variable.entrySet().toArray((Entry<String, Object>[]) new Entry<?, ?>[variable.size()]);
+			Object[] values = new Object[entries.length];
+			for (int i = 0; i < entries.length; i++)
+				values[i] = entries[i].getValue();
+			Comparator<Object> comparator = ExprSortedList.getComparator(values);
+			Comparator<Entry<String, Object>> entryComparator = (a, b) -> comparator.compare(a.getValue(), b.getValue());
+			try {
+				ExprSortedList.sort(entries, descending ? entryComparator.reversed() : entryComparator);
+			} catch (IllegalArgumentException | ClassCastException ex) {
+				return variable.keySet().toArray(new String[0]);
+			}
+			String[] indices = new String[entries.length];
+			for (int i = 0; i < entries.length; i++)
+				indices[i] = entries[i].getKey();
+			return indices;
 		}
 
 		return variable.keySet().toArray(new String[0]);
@@ -23,6 +23,8 @@ import ch.njol.skript.doc.Examples;
 import ch.njol.skript.doc.Name;
 import ch.njol.skript.doc.Since;
 import ch.njol.skript.expressions.base.SimplePropertyExpression;
+import ch.njol.skript.lang.Expression;
+import ch.njol.skript.lang.PureExpression;
 import org.jetbrains.annotations.NotNull;
 
 /**
@@ -32,7 +34,7 @@ import org.jetbrains.annotations.NotNull;
 @Description("The length of a text, in number of characters.")
 @Examples("set {_l} to length of the string argument")
 @Since("2.1")
-public class ExprLength extends SimplePropertyExpression<String, Long> {
+public class ExprLength extends SimplePropertyExpression<String, Long> implements PureExpression<Long> {
 	static {
 		register(ExprLength.class, Long.class, "length", "strings");
 	}
@@ -43,6 +45,11 @@ public class ExprLength extends SimplePropertyExpression<String, Long> {
 		return (long) s.length();
 	}
 	
+	@Override
+	public Expression<?>[] getInputs() {
+		return new Expression<?>[] {getExpr()};
+	}
+	
 	@Override
 	public @NotNull Class<? extends Long> getReturnType() {
 		return Long.class;
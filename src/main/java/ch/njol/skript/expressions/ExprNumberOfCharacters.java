@@ -25,6 +25,7 @@ import ch.njol.skript.doc.Name;
 import ch.njol.skript.doc.Since;
 import ch.njol.skript.lang.Expression;
 import ch.njol.skript.lang.ExpressionType;
+import ch.njol.skript.lang.PureExpression;
 import ch.njol.skript.lang.SkriptParser.ParseResult;
 import ch.njol.skript.lang.util.SimpleExpression;
 import ch.njol.util.Kleenean;
@@ -39,7 +40,7 @@ import org.jetbrains.annotations.Nullable;
 			"\t\tcancel event",
 			"\t\tsend \"&lt;red&gt;Your message has to many caps!\" to player"})
 @Since("2.5")
-public class ExprNumberOfCharacters extends SimpleExpression<Long> {
+public class ExprNumberOfCharacters extends SimpleExpression<Long> implements PureExpression<Long> {
 
 	static {
 		Skript.registerExpression(ExprNumberOfCharacters.class, Long.class, ExpressionType.SIMPLE,
@@ -85,6 +86,11 @@ public class ExprNumberOfCharacters extends SimpleExpression<Long> {
 		return new Long[]{size};
 	}
 
+	@Override
+	public Expression<?>[] getInputs() {
+		return new Expression<?>[] {expr};
+	}
+
 	@Override
 	public boolean isSingle() {
 		return true;
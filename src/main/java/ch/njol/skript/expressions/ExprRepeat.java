@@ -25,6 +25,7 @@ import ch.njol.skript.doc.Name;
 import ch.njol.skript.doc.Since;
 import ch.njol.skript.lang.Expression;
 import ch.njol.skript.lang.ExpressionType;
+import ch.njol.skript.lang.PureExpression;
 import ch.njol.skript.lang.SkriptParser.ParseResult;
 import ch.njol.skript.lang.util.SimpleExpression;
 import ch.njol.util.Kleenean;
@@ -41,7 +42,7 @@ import org.jetbrains.annotations.Nullable;
 		"\tbroadcast \"Ahhhh\" repeated 100 times"
 })
 @Since("2.8.0")
-public class ExprRepeat extends SimpleExpression<String> {
+public class ExprRepeat extends SimpleExpression<String> implements PureExpression<String> {
 	static {
 		Skript.registerExpression(ExprRepeat.class, String.class, ExpressionType.COMBINED, "%strings% repeated %integer% time[s]");
 	}
@@ -64,6 +65,19 @@ public class ExprRepeat extends SimpleExpression<String> {
 		return strings.stream(event).map(string -> StringUtils.multiply(string, repeatCount)).toArray(String[]::new);
 	}
 
+	@Override
+	public Expression<?>[] getInputs() {
+		return new Expression<?>[] {strings, repeatCount};
+	}
+
+	@Override
+	public boolean isFoldable(Object event) {
+		long length = 0;
+		for (String string : strings.getArray(event))
+			length += string.length();
+		return length * repeatCount.getOptionalSingle(event).orElse(0) <= MAX_FOLDED_LENGTH;
+	}
+
 	@Override
 	public boolean isSingle() {
 		return strings.isSingle();
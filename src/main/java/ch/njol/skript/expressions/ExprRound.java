@@ -26,6 +26,7 @@ import ch.njol.skript.doc.Since;
 import ch.njol.skript.expressions.base.PropertyExpression;
 import ch.njol.skript.lang.Expression;
 import ch.njol.skript.lang.ExpressionType;
+import ch.njol.skript.lang.PureExpression;
 import ch.njol.skript.lang.SkriptParser.ParseResult;
 import ch.njol.util.Kleenean;
 import ch.njol.util.Math2;
@@ -41,7 +42,7 @@ import org.jetbrains.annotations.Nullable;
 		"set line 1 of the block to rounded \"%(1.5 * player's level)%\"",
 		"add rounded down argument to the player's health"})
 @Since("2.0")
-public class ExprRound extends PropertyExpression<Number, Long> {
+public class ExprRound extends PropertyExpression<Number, Long> implements PureExpression<Long> {
 	static {
 		Skript.registerExpression(ExprRound.class, Long.class, ExpressionType.PROPERTY,
 				"(a|the|) round[ed] down %number%",
@@ -70,6 +71,11 @@ public class ExprRound extends PropertyExpression<Number, Long> {
 		});
 	}
 	
+	@Override
+	public Expression<?>[] getInputs() {
+		return new Expression<?>[] {getExpr()};
+	}
+	
 	@Override
 	public @NotNull Class<? extends Long> getReturnType() {
 		return Long.class;
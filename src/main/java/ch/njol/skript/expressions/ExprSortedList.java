@@ -37,6 +37,10 @@ import org.skriptlang.skript.lang.comparator.Comparators;
 import org.skriptlang.skript.lang.comparator.Relation;
 
 import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Name("Sorted List")
 @Description("Sorts given list in natural order. All objects in list must be comparable; if they're not, this expression will return nothing.")
@@ -68,26 +72,142 @@ public class ExprSortedList extends SimpleExpression<Object> {
 	@Override
 	@Nullable
 	protected Object @NotNull [] get(@NotNull Object event) {
+		Object[] values = list.getArray(event).clone(); // expressions may return their internal array
 		try {
-			return list.stream(event)
-					.sorted(ExprSortedList::compare)
-					.toArray();
+			return sort(values);
 		} catch (IllegalArgumentException | ClassCastException e) {
 			return (Object[]) Array.newInstance(getReturnType(), 0);
 		}
 	}
 
+	/**
+	 * Sorts the given values in natural order, see {@link #compare(Object, Object)}.
+	 * Lists of only integers are sorted as primitives,
+	 *  and large lists are sorted in parallel, see {@link #PARALLEL_SORT_THRESHOLD}.
+	 * @param values The values to sort. The array is sorted in place.
+	 * @return The given array.
+	 * @throws IllegalArgumentException If the values can't be compared.
+	 * @throws ClassCastException If the values can't be compared.
+	 */
+	public static Object[] sort(Object[] values) throws IllegalArgumentException, ClassCastException {
+		if (values.length < 2)
+			return values;
+		if (allInstances(values, Long.class)) {
+			long[] longs = new long[values.length];
+			for (int i = 0; i < values.length; i++)
+				longs[i] = (Long) values[i];
+			if (longs.length >= PARALLEL_SORT_THRESHOLD) {
+				Arrays.parallelSort(longs);
+			} else {
+				Arrays.sort(longs);
+			}
+			for (int i = 0; i < values.length; i++)
+				values[i] = longs[i];
+			return values;
+		}
+		sort(values, getComparator(values));
+		return values;
+	}
+
+	/**
+	 * Sorts the given array using the comparator, in parallel if the array is large enough.
+	 * The sort is stable.
+	 */
+	public static <T> void sort(T[] array, java.util.Comparator<? super T> comparator) {
+		if (array.length >= PARALLEL_SORT_THRESHOLD) {
+			Arrays.parallelSort(array, comparator);
+		} else {
+			Arrays.sort(array, comparator);
+		}
+	}
+
+	/**
+	 * Chooses the cheapest comparator that orders the given values like {@link #compare(Object, Object)} does.
+	 * Only lists of numbers or texts get a specialized comparator,
+	 *  for other lists, the {@link Comparator} for each pair of classes is only looked up once per comparator.
+	 * @param values The values that will be compared.
+	 * @return A comparator for the values. It is only valid for the given values.
+	 */
+	public static java.util.Comparator<Object> getComparator(Object[] values) {
+		if (allInstances(values, String.class))
+			return STRING_ORDER;
+		if (allInstances(values, Number.class)) {
+			boolean nan = false;
+			for (Object value : values) {
+				if (Double.isNaN(((Number) value).doubleValue())) {
+					nan = true;
+					break;
+				}
+			}
+			if (!nan) // the number comparator treats NaN in a way that can't be sorted consistently
+				return NUMBER_ORDER;
+		}
+		return new NaturalOrder();
+	}
+
+	private static boolean allInstances(Object[] values, Class<?> type) {
+		for (Object value : values) {
+			if (!type.isInstance(value))
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * The size from which lists are sorted in parallel.
+	 */
+	public static final int PARALLEL_SORT_THRESHOLD = 1 << 14;
+
+	private static final java.util.Comparator<Object> STRING_ORDER = (a, b) -> ((String) a).compareToIgnoreCase((String) b);
+
+	private static final java.util.Comparator<Object> NUMBER_ORDER = (a, b) -> {
+		if (a instanceof Long && b instanceof Long)
+			return Long.compare((Long) a, (Long) b);
+		return Double.compare(((Number) a).doubleValue(), ((Number) b).doubleValue());
+	};
+
 	@SuppressWarnings("unchecked")
 	public static <A, B> int compare(A a, B b) throws IllegalArgumentException, ClassCastException {
 		if (a instanceof String && b instanceof String)
 			return Relation.get(((String) a).compareToIgnoreCase((String) b)).getRelation();
 		Comparator<A, B> comparator = Comparators.getComparator((Class<A>) a.getClass(), (Class<B>) b.getClass());
-        if (comparator != null && comparator.supportsOrdering())
+		return compare(comparator, a, b);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <A, B> int compare(@Nullable Comparator<A, B> comparator, A a, B b) throws IllegalArgumentException, ClassCastException {
+		if (comparator != null && comparator.supportsOrdering())
 			return comparator.compare(a, b).getRelation();
 		if (!(a instanceof Comparable))
 			throw new IllegalArgumentException("Cannot compare " + a.getClass());
 		return ((Comparable<B>) a).compareTo(b);
-    }
+	}
+
+	/**
+	 * Orders values like {@link #compare(Object, Object)},
+	 *  but only looks up the {@link Comparator} for each pair of classes once.
+	 * This class is thread-safe, so that it can be used for parallel sorts.
+	 */
+	private static final class NaturalOrder implements java.util.Comparator<Object> {
+
+		private final Map<Class<?>, Map<Class<?>, Optional<Comparator<Object, Object>>>> comparators = new ConcurrentHashMap<>();
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public int compare(Object a, Object b) {
+			if (a instanceof String && b instanceof String)
+				return Relation.get(((String) a).compareToIgnoreCase((String) b)).getRelation();
+			Class<?> secondType = b.getClass();
+			Map<Class<?>, Optional<Comparator<Object, Object>>> firstComparators = comparators.computeIfAbsent(a.getClass(), type -> new ConcurrentHashMap<>());
+			Optional<Comparator<Object, Object>> comparator = firstComparators.get(secondType);
+			if (comparator == null) {
+				comparator = Optional.ofNullable((Comparator<Object, Object>) Comparators.getComparator(a.getClass(), secondType));
+				firstComparators.put(secondType, comparator);
+			}
+			return ExprSortedList.compare(comparator.orElse(null), a, b);
+		}
+
+	}
 
 	@Override
 	@Nullable
@@ -25,6 +25,7 @@ import ch.njol.skript.doc.Name;
 import ch.njol.skript.doc.Since;
 import ch.njol.skript.lang.Expression;
 import ch.njol.skript.lang.ExpressionType;
+import ch.njol.skript.lang.PureExpression;
 import ch.njol.skript.lang.SkriptParser.ParseResult;
 import ch.njol.skript.lang.util.SimpleExpression;
 import ch.njol.util.Kleenean;
@@ -49,7 +50,7 @@ import org.jetbrains.annotations.Nullable;
 	"\"What is your name?\" in lower kebab case # what-is-your-name?",
 	"\"What is your name?\" in upper kebab case # WHAT-IS-YOUR-NAME?"})
 @Since("2.2-dev16 (lowercase and uppercase), 2.5 (advanced cases)")
-public class ExprStringCase extends SimpleExpression<String> {
+public class ExprStringCase extends SimpleExpression<String> implements PureExpression<String> {
 	
 	static {
 		Skript.registerExpression(ExprStringCase.class, String.class, ExpressionType.SIMPLE,
@@ -113,7 +114,7 @@ public class ExprStringCase extends SimpleExpression<String> {
 	@Override
 	@Nullable
 	protected String @NotNull [] get(@NotNull Object e) {
-		String[] strs = expr.getArray(e);
+		String[] strs = expr.getArray(e).clone(); // Literals return their own array, which must not be modified
 		for (int i = 0; i < strs.length; i++) {
 			if (strs[i] != null) {
 				switch (type) {
@@ -141,6 +142,11 @@ public class ExprStringCase extends SimpleExpression<String> {
 		return strs;
 	}
 	
+	@Override
+	public Expression<?>[] getInputs() {
+		return new Expression<?>[] {expr};
+	}
+	
 	@Override
 	public boolean isSingle() {
 		return expr.isSingle();
@@ -22,6 +22,7 @@ import ch.njol.skript.Skript;
 import ch.njol.skript.doc.*;
 import ch.njol.skript.lang.Expression;
 import ch.njol.skript.lang.ExpressionType;
+import ch.njol.skript.lang.PureExpression;
 import ch.njol.skript.lang.SkriptParser.ParseResult;
 import ch.njol.skript.lang.util.SimpleExpression;
 import ch.njol.skript.lang.util.SimpleLiteral;
@@ -44,7 +45,7 @@ import java.util.List;
 		"set {_characters::*} to characters at 1, 2 and 7 in player's display name",
 		"send the last character of all players' names"})
 @Since("2.1, 2.5.2 (character at, multiple strings support)")
-public class ExprSubstring extends SimpleExpression<String> {
+public class ExprSubstring extends SimpleExpression<String> implements PureExpression<String> {
 	static {
 		Skript.registerExpression(ExprSubstring.class, String.class, ExpressionType.COMBINED,
 				"[the] (part|sub[ ](text|string)) of %strings% (between|from) (ind(ex|ices)|character[s]|) %number% (and|to) (index|character|) %number%",
@@ -99,6 +100,15 @@ public class ExprSubstring extends SimpleExpression<String> {
 		return parts.toArray(new String[parts.size()]);
 	}
 	
+	@Override
+	public Expression<?>[] getInputs() {
+		if (start == null)
+			return new Expression<?>[] {string, end};
+		if (end == null)
+			return new Expression<?>[] {string, start};
+		return new Expression<?>[] {string, start, end};
+	}
+	
 	@Override
 	@SuppressWarnings("null")
 	public boolean isSingle() {
@@ -18,6 +18,9 @@
  */
 package ch.njol.skript.lang;
 
+import ch.njol.skript.variables.Variables;
+import org.jetbrains.annotations.Nullable;
+
 import java.util.Map;
 import java.util.WeakHashMap;
 
@@ -29,14 +32,45 @@ import java.util.WeakHashMap;
  */
 public abstract class LoopSection extends Section implements SyntaxElement, Debuggable {
 
+	/**
+	 * @deprecated Loops keep their state with the executing event's local variables, see {@link #getState(Object)}.
+	 * Only used by {@link #getLoopCounter(Object)} for loops that don't use {@link #setState(Object, LoopState)}.
+	 */
+	@Deprecated
 	protected final transient Map<Object, Long> currentLoopCounter = new WeakHashMap<Object, Long>();
 
+	/**
+	 * All state of an execution of this loop is kept in a single object, stored with the event's local variables
+	 *  (see {@link Variables#getExecutionState(Object, Object)}), so it belongs to that execution only,
+	 *  survives delays and is discarded when the trigger finishes.
+	 *
+	 * @param event The event executing this loop
+	 * @return The state of the execution of this loop by the event, or null if the event isn't executing this loop
+	 */
+	@Nullable
+	protected LoopState getState(Object event) {
+		return (LoopState) Variables.getExecutionState(event, this);
+	}
+
+	/**
+	 * Starts an execution of this loop by the event.
+	 * @param event The event executing this loop
+	 * @param state The state of the execution
+	 */
+	protected void setState(Object event, LoopState state) {
+		Variables.setExecutionState(event, this, state);
+	}
+
 	/**
 	 * @param event The event where the loop is used to return its loop iterations
 	 * @return The loop iteration number
 	 */
+	@SuppressWarnings("deprecation")
 	public long getLoopCounter(Object event) {
-		return currentLoopCounter.getOrDefault(event, 1L);
+		LoopState state = getState(event);
+		if (state != null)
+			return state.counter;
+		return currentLoopCounter.isEmpty() ? 1L : currentLoopCounter.getOrDefault(event, 1L);
 	}
 
 	/**
@@ -48,8 +82,25 @@ public abstract class LoopSection extends Section implements SyntaxElement, Debu
 	 * Exit the loop, used to reset the loop properties such as iterations counter
 	 * @param event The event where the loop is used to reset its relevant properties
 	 */
+	@SuppressWarnings("deprecation")
 	public void exit(Object event) {
-		currentLoopCounter.remove(event);
+		Variables.setExecutionState(event, this, null);
+		if (!currentLoopCounter.isEmpty())
+			currentLoopCounter.remove(event);
+	}
+
+	/**
+	 * The state of one execution of a loop, which loops may extend to store more state.
+	 */
+	protected static class LoopState {
+
+		/**
+		 * The number of the current iteration.
+		 */
+		public long counter;
+
+		public LoopState() {}
+
 	}
 
 }
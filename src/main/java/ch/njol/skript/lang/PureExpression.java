@@ -0,0 +1,53 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.lang;
+
+/**
+ * Represents an expression whose values only depend on the values of its inputs, and which has no side effects.
+ * It may not depend on the event, time, randomness, variables or any other state.
+ * <p>
+ * If all inputs of a pure expression are {@link Literal}s (or simple {@link VariableString}s),
+ *  it is evaluated once while parsing and replaced with a literal holding the result.
+ */
+public interface PureExpression<T> extends Expression<T> {
+
+	/**
+	 * @return The expressions this expression computes its values from.
+	 */
+	Expression<?>[] getInputs();
+
+	/**
+	 * The maximum total length of the values that a pure expression should produce when evaluated while parsing,
+	 * see {@link #isFoldable(Object)}.
+	 */
+	int MAX_FOLDED_LENGTH = 4096;
+
+	/**
+	 * Called before this expression is evaluated while parsing, when all its inputs are constant.
+	 * An expression whose values may get large, e.g. a repeated string, should return false if they would be,
+	 *  so that loading a script doesn't allocate them. It is then evaluated at runtime as usual.
+	 *
+	 * @param event The event the constant inputs can be evaluated with.
+	 * @return Whether this expression may be evaluated while parsing.
+	 */
+	default boolean isFoldable(Object event) {
+		return true;
+	}
+
+}
@@ -25,7 +25,10 @@ import ch.njol.skript.classes.ClassInfo;
 import ch.njol.skript.lang.function.ExprFunctionCall;
 import ch.njol.skript.lang.function.FunctionReference;
 import ch.njol.skript.lang.function.Functions;
+import ch.njol.skript.lang.parser.ParseCache;
+import ch.njol.skript.lang.parser.ParseMetrics;
 import ch.njol.skript.lang.parser.ParserInstance;
+import ch.njol.skript.lang.util.ContextlessEvent;
 import ch.njol.skript.lang.util.SimpleLiteral;
 import ch.njol.skript.localization.Language;
 import ch.njol.skript.localization.Message;
@@ -165,7 +168,7 @@ public class SkriptParser {
 		}
 		ParseLogHandler log = SkriptLogger.startParseLogHandler();
 		try {
-			T element = new SkriptParser(expr).parse(source);
+			T element = new SkriptParser(expr).parse(source, true);
 			if (element != null) {
 				log.printLog();
 				return element;
@@ -173,7 +176,7 @@ public class SkriptParser {
 			log.printError(defaultError);
 			return null;
 		} finally {
-			log.stop();
+			log.release();
 		}
 	}
 
@@ -193,7 +196,7 @@ public class SkriptParser {
 		ParseLogHandler log = SkriptLogger.startParseLogHandler();
 		T element;
 		try {
-			element = new SkriptParser(expr, PARSE_LITERALS, parseContext).parse(source);
+			element = new SkriptParser(expr, PARSE_LITERALS, parseContext).parse(source, false);
 			if (element != null) {
 				log.printLog();
 				return element;
@@ -201,67 +204,124 @@ public class SkriptParser {
 			log.printError(defaultError);
 			return null;
 		} finally {
-			log.stop();
+			log.release();
 		}
 	}
 
+	/**
+	 * @param cacheable Whether the {@link ParseCache} may be used. This must be false if consuming the source has side effects
+	 *  (such as in {@link org.skriptlang.skript.lang.structure.Structure#parse(String, ch.njol.skript.config.SectionNode, String)}),
+	 *  as the elements it yields might have to be tried again.
+	 */
 	@Nullable
-	private <T extends SyntaxElement> T parse(Iterator<? extends SyntaxElementInfo<? extends T>> source) {
+	private <T extends SyntaxElement> T parse(Iterator<? extends SyntaxElementInfo<? extends T>> source, boolean cacheable) {
 		ParseLogHandler log = SkriptLogger.startParseLogHandler();
 		try {
+			ParseMetrics metrics = ParseMetrics.get(getParser());
+			ParseCache cache = cacheable ? ParseCache.get(getParser()) : null;
+			List<ParseCache.Hint> hints = cache != null ? cache.getHints(expr) : null;
+			if (hints != null) {
+				// Hinted elements are still tried in registration order. Other elements before them didn't match when the hints
+				// were recorded, so skipping them gives the same result as a full parse unless state the cache isn't validated
+				// against changed (see ParseCache)
+				List<SyntaxElementInfo<? extends T>> consumed = new ArrayList<SyntaxElementInfo<? extends T>>();
+				while (source.hasNext()) {
+					SyntaxElementInfo<? extends T> info = source.next();
+					consumed.add(info);
+					for (ParseCache.Hint hint : hints) {
+						if (!hint.matches(info))
+							continue;
+						log.clear();
+						T element = parse(info, hint.getPatternIndex(), metrics);
+						if (element != null) {
+							cache.record(expr, info, hint.getPatternIndex());
+							log.printLog();
+							return element;
+						}
+					}
+				}
+				source = consumed.iterator();
+			}
+
 			while (source.hasNext()) {
 				SyntaxElementInfo<? extends T> info = source.next();
-				patternsLoop: for (int patternIndex = 0; patternIndex < info.patterns.length; patternIndex++) {
+				for (int patternIndex = 0; patternIndex < info.patterns.length; patternIndex++) {
 					log.clear();
-					try {
-						String pattern = info.patterns[patternIndex];
-						assert pattern != null;
-						ParseResult parseResult;
-						try {
-							parseResult = parse_i(pattern);
-						} catch (MalformedPatternException e) {
-							String message = "pattern compiling exception, element class: " + info.getElementClass().getName();
-							try {
-								Plugin providingPlugin = Plugin.getProvidingPlugin(info.getElementClass());
-								message += " (provided by " + providingPlugin.getName() + ")";
-							} catch (IllegalArgumentException | IllegalStateException ignored) {}
-							throw new RuntimeException(message, e);
-
-						}
-						if (parseResult != null) {
-							assert parseResult.source != null; // parse results from parse_i have a source
-							List<TypePatternElement> types = null;
-							for (int i = 0; i < parseResult.exprs.length; i++) {
-								if (parseResult.exprs[i] == null) {
-									if (types == null)
-										types = parseResult.source.getElements(TypePatternElement.class);
-									ExprInfo exprInfo = types.get(i).getExprInfo();
-									if (!exprInfo.isOptional) {
-										DefaultExpression<?> expr = getDefaultExpression(exprInfo, info.patterns[patternIndex]);
-										if (!expr.init())
-											continue patternsLoop;
-										parseResult.exprs[i] = expr;
-									}
-								}
-							}
-							T element = info.getElementClass().newInstance();
-							if (element.init(parseResult.exprs, patternIndex, getParser().getHasDelayBefore(), parseResult)) {
-								log.printLog();
-								return element;
-							}
-						}
-					} catch (InstantiationException | IllegalAccessException e) {
-						assert false;
+					T element = parse(info, patternIndex, metrics);
+					if (element != null) {
+						if (cache != null)
+							cache.record(expr, info, patternIndex);
+						log.printLog();
+						return element;
 					}
 				}
 			}
 			log.printError();
 			return null;
 		} finally {
-			log.stop();
+			log.release();
 		}
 	}
 
+	/**
+	 * Attempts to parse this parser's expression using a single pattern of a syntax element.
+	 * @param metrics The metrics to record the attempt in, if any.
+	 * @return The initialized element, or null if the pattern did not match or the element failed to initialize.
+	 */
+	@Nullable
+	private <T extends SyntaxElement> T parse(SyntaxElementInfo<? extends T> info, int patternIndex, @Nullable ParseMetrics metrics) {
+		long outerNested = 0, start = 0, matchNanos = 0;
+		if (metrics != null) {
+			outerNested = metrics.startAttempt();
+			start = System.nanoTime();
+		}
+		T element = null;
+		try {
+			String pattern = info.patterns[patternIndex];
+			assert pattern != null;
+			ParseResult parseResult;
+			try {
+				parseResult = parse_i(pattern);
+			} catch (MalformedPatternException e) {
+				String message = "pattern compiling exception, element class: " + info.getElementClass().getName();
+				try {
+					Plugin providingPlugin = Plugin.getProvidingPlugin(info.getElementClass());
+					message += " (provided by " + providingPlugin.getName() + ")";
+				} catch (IllegalArgumentException | IllegalStateException ignored) {}
+				throw new RuntimeException(message, e);
+
+			}
+			if (metrics != null)
+				matchNanos = System.nanoTime() - start - metrics.getNestedNanos();
+			if (parseResult != null) {
+				assert parseResult.source != null; // parse results from parse_i have a source
+				List<TypePatternElement> types = null;
+				for (int i = 0; i < parseResult.exprs.length; i++) {
+					if (parseResult.exprs[i] == null) {
+						if (types == null)
+							types = parseResult.source.getElements(TypePatternElement.class);
+						ExprInfo exprInfo = types.get(i).getExprInfo();
+						if (!exprInfo.isOptional) {
+							DefaultExpression<?> expr = getDefaultExpression(exprInfo, pattern);
+							if (!expr.init())
+								return null;
+							parseResult.exprs[i] = expr;
+						}
+					}
+				}
+				T instance = info.getElementClass().newInstance();
+				if (instance.init(parseResult.exprs, patternIndex, getParser().getHasDelayBefore(), parseResult))
+					element = instance;
+			}
+		} catch (InstantiationException | IllegalAccessException e) {
+			assert false;
+		} finally {
+			if (metrics != null)
+				metrics.endAttempt(info, patternIndex, element != null, outerNested, matchNanos, System.nanoTime() - start);
+		}
+		return element;
+	}
+
 	private static <T extends SyntaxElement> @NotNull DefaultExpression<?> getDefaultExpression(ExprInfo exprInfo, String pattern) {
 		DefaultExpression<?> expr = exprInfo.classes[0].getDefaultExpression();
 		if (expr == null)
@@ -311,9 +371,60 @@ public class SkriptParser {
 		if (expr.startsWith("\"") && expr.length() != 1 && nextQuote(expr, 1) == expr.length() - 1) {
 			return VariableString.newInstance(expr.substring(1, expr.length() - 1));
 		} else {
-			return (Expression<?>) parse(expr, (Iterator) Skript.getExpressions(types), null);
+			Expression<?> expression = (Expression<?>) parse(expr, (Iterator) Skript.getExpressions(types), null);
+			return expression != null ? foldConstants(expression) : null;
 		}
 	}
+
+	/**
+	 * Evaluates a {@link PureExpression} whose inputs are all constant, replacing it with a literal holding its values.
+	 * @return The literal, or the expression itself if it can't be evaluated while parsing.
+	 */
+	@SuppressWarnings("unchecked")
+	private static <T> Expression<? extends T> foldConstants(Expression<? extends T> expression) {
+		if (!(expression instanceof PureExpression) || containsOrList(expression)) // 'or' lists pick a random value on every evaluation
+			return expression;
+		for (Expression<?> input : ((PureExpression<?>) expression).getInputs()) {
+			if (input instanceof UnparsedLiteral || !(input instanceof Literal || input instanceof VariableString && ((VariableString) input).isSimple()))
+				return expression;
+		}
+
+		T[] values;
+		try {
+			ContextlessEvent event = ContextlessEvent.get();
+			if (!((PureExpression<?>) expression).isFoldable(event)) // e.g. a huge repeated string, which shouldn't be allocated while loading
+				return expression;
+			values = expression.getAll(event);
+		} catch (RuntimeException ex) {
+			return expression; // Let it fail at runtime like it would have without folding
+		}
+		// A literal is single if and only if it has one value, so this must match the expression
+		if (values.length == 0 || (values.length == 1) != expression.isSingle())
+			return expression;
+		return new SimpleLiteral<T>(values, (Class<T>) expression.getReturnType(), true);
+	}
+
+	/**
+	 * @return Whether the expression is an 'or' list, or any of its elements or the inputs of a pure expression are, recursively.
+	 */
+	private static boolean containsOrList(Expression<?> expression) {
+		if (!expression.getAnd())
+			return true;
+		if (expression instanceof ExpressionList) {
+			for (Expression<?> element : ((ExpressionList<?>) expression).getExpressions()) {
+				if (containsOrList(element))
+					return true;
+			}
+		}
+		if (expression instanceof PureExpression) {
+			for (Expression<?> input : ((PureExpression<?>) expression).getInputs()) {
+				if (containsOrList(input))
+					return true;
+			}
+		}
+		return false;
+	}
+
 	@Nullable
 	@SuppressWarnings({"unchecked", "rawtypes"})
 	private <T> Expression<? extends T> parseSingleExpr(boolean allowUnparsedLiteral, @Nullable LogEntry error, Class<? extends T>... types) {
@@ -402,7 +513,7 @@ public class SkriptParser {
 			log.printError();
 			return null;
 		} finally {
-			log.stop();
+			log.release();
 		}
 	}
 
@@ -596,7 +707,7 @@ public class SkriptParser {
 			log.printError();
 			return null;
 		} finally {
-			log.stop();
+			log.release();
 		}
 	}
 
@@ -638,7 +749,7 @@ public class SkriptParser {
 
 			return this.parseExpressionList(log, types);
 		} finally {
-			log.stop();
+			log.release();
 		}
 	}
 
@@ -878,7 +989,7 @@ public class SkriptParser {
 
 			}
 		} finally {
-			log.stop();
+			log.release();
 		}
 	}
 
@@ -951,7 +1062,7 @@ public class SkriptParser {
 			log.printLog();
 			return functionReference;
 		} finally {
-			log.stop();
+			log.release();
 		}
 	}
 
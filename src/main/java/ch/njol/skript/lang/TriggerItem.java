@@ -19,6 +19,7 @@
 package ch.njol.skript.lang;
 
 import ch.njol.skript.Skript;
+import ch.njol.skript.log.RuntimeErrorReporter;
 import ch.njol.skript.util.SkriptColor;
 import ch.njol.util.StringUtils;
 import org.jetbrains.annotations.Nullable;
@@ -104,7 +105,7 @@ public abstract class TriggerItem implements Debuggable {
 				err.printStackTrace();
 		} catch (Exception ex) {
 			if (ex.getStackTrace().length != 0) // empty exceptions have already been printed
-				Skript.exception(ex, triggerItem);
+				RuntimeErrorReporter.report(ex, triggerItem);
 		} catch (Throwable throwable) {
 			// not all Throwables are Exceptions, but we usually don't want to catch them (without rethrowing)
 			Skript.markErrored();
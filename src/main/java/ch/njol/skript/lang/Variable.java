@@ -32,6 +32,7 @@ import ch.njol.skript.registrations.Classes;
 import ch.njol.skript.structures.StructVariables.DefaultVariables;
 import ch.njol.skript.util.StringMode;
 import ch.njol.skript.util.Utils;
+import ch.njol.skript.variables.LocalVariableSlots;
 import ch.njol.skript.variables.TypeHints;
 import ch.njol.skript.variables.Variables;
 import ch.njol.util.Checker;
@@ -48,6 +49,7 @@ import org.skriptlang.skript.lang.arithmetic.OperationInfo;
 import org.skriptlang.skript.lang.arithmetic.Operator;
 import org.skriptlang.skript.lang.comparator.Comparators;
 import org.skriptlang.skript.lang.comparator.Relation;
+import org.skriptlang.skript.lang.converter.ConverterCache;
 import org.skriptlang.skript.lang.converter.Converters;
 import org.skriptlang.skript.lang.script.Script;
 import org.skriptlang.skript.lang.script.ScriptWarning;
@@ -78,9 +80,25 @@ public class Variable<T> implements Expression<T> {
 	private final Class<T> superType;
 	private final Class<? extends T>[] types;
 
+	/**
+	 * Caches the conversion of this variable's values into {@link #types}, so evaluating doesn't look up converters.
+	 */
+	private final ConverterCache<T> converterCache;
+
 	private final boolean local;
 	private final boolean list;
 
+	/**
+	 * The slots of the local variables of this variable's script, if this variable has a slot.
+	 */
+	@Nullable
+	private final LocalVariableSlots slots;
+
+	/**
+	 * The slot of this local variable if it has a constant name, or -1, see {@link LocalVariableSlots#getSlot(String)}.
+	 */
+	private final int slot;
+
 	@Nullable
 	private final Variable<?> source;
 
@@ -98,9 +116,18 @@ public class Variable<T> implements Expression<T> {
 		this.list = list;
 
 		this.name = name;
+		String simpleName = local && !list && script != null && name.isSimple() && SkriptConfig.localVariableSlots.value() ? name.toString(null) : null;
+		if (simpleName != null && !simpleName.contains(SEPARATOR)) {
+			this.slots = LocalVariableSlots.get(script);
+			this.slot = slots.getSlot(simpleName);
+		} else {
+			this.slots = null;
+			this.slot = -1;
+		}
 
 		this.types = types;
 		this.superType = (Class<T>) Utils.getSuperType(types);
+		this.converterCache = new ConverterCache<T>(types);
 
 		this.source = source;
 	}
@@ -294,6 +321,12 @@ public class Variable<T> implements Expression<T> {
 		if (data != null)
 			data.enterScope();
 		try {
+			if (slots != null) {
+				Object value = Variables.getLocalVariable(slots, slot, event);
+				if (value != null || data == null || !data.hasDefaultVariables())
+					return value;
+			}
+
 			String name = this.name.toString(event);
 
 			// prevents e.g. {%expr%} where "%expr%" ends with "::*" from returning a Map
@@ -369,9 +402,8 @@ public class Variable<T> implements Expression<T> {
 		if (val == null)
 			return new EmptyIterator<Pair<String, Object>>();
 		assert val instanceof TreeMap;
-		// temporary list to prevent CMEs
 		@SuppressWarnings("unchecked")
-		Iterator<String> keys = new ArrayList<String>(((Map<String, Object>) val).keySet()).iterator();
+		Iterator<String> keys = keys((TreeMap<String, Object>) val);
 		return new Iterator<Pair<String, Object>>() {
 			@Nullable
 			private String key;
@@ -423,8 +455,7 @@ public class Variable<T> implements Expression<T> {
 		if (value == null)
 			return new EmptyIterator<T>();
 		assert value instanceof TreeMap;
-		// temporary list to prevent CMEs
-		Iterator<String> keys = new ArrayList<String>(((Map<String, Object>) value).keySet()).iterator();
+		Iterator<String> keys = keys((TreeMap<String, Object>) value);
 		return new Iterator<T>() {
 			@Nullable
 			private String key;
@@ -439,7 +470,7 @@ public class Variable<T> implements Expression<T> {
 				while (keys.hasNext()) {
 					key = keys.next();
 					if (key != null) {
-						next = Converters.convert(Variables.getVariable(name + key, event, local), types);
+						next = converterCache.convert(Variables.getVariable(name + key, event, local));
 						next = (T) convertIfOldPlayer(name + key, event, next);
 						if (next != null && !(next instanceof TreeMap))
 							return true;
@@ -469,15 +500,19 @@ public class Variable<T> implements Expression<T> {
 	@Nullable
 	private T getConverted(Object event) {
 		assert !list;
-		return Converters.convert(get(event), types);
+		return converterCache.convert(get(event));
 	}
 
 	private T[] getConvertedArray(Object event) {
 		assert list;
-		return Converters.convert((Object[]) get(event), types, superType);
+		return converterCache.convert((Object[]) get(event), superType);
 	}
 
 	private void set(Object event, @Nullable Object value) {
+		if (slots != null) {
+			Variables.setLocalVariable(slots, slot, value, event);
+			return;
+		}
 		Variables.setVariable(name.toString(event), value, event, local);
 	}
 
@@ -734,4 +769,70 @@ public class Variable<T> implements Expression<T> {
 		return this;
 	}
 
+	/**
+	 * @param list the tree map of this list variable.
+	 * @return an iterator over the indices of the list that doesn't throw a CME if the list is modified while iterating.
+	 */
+	private Iterator<String> keys(TreeMap<String, Object> list) {
+		// global variables are modified by other threads without holding a lock while looping, so their indices are copied
+		if (!local)
+			return new ArrayList<String>(list.keySet()).iterator();
+		return new KeyCursor(list);
+	}
+
+	/**
+	 * Iterates over the indices of a local list variable without copying them,
+	 * by looking up the next index in the list's tree map for every step.
+	 * As no iterator of the map is used, the list may be modified while iterating without causing a CME.
+	 * Unlike a copy of the indices, indices added while iterating are iterated over if they come after the current index,
+	 * unless they come after the last index the list had when iterating started,
+	 * so that adding to a list while looping over it doesn't loop forever.
+	 * <br>
+	 * This must only be used for maps that aren't modified by other threads, i.e. local variables.
+	 */
+	private static final class KeyCursor implements Iterator<String> {
+
+		private final TreeMap<String, Object> map;
+		@Nullable
+		private final String last;
+		@Nullable
+		private String current;
+		@Nullable
+		private String next;
+
+		private KeyCursor(TreeMap<String, Object> map) {
+			this.map = map;
+			this.last = map.isEmpty() ? null : map.lastKey();
+			// null is the smallest key and holds the value of the list variable itself, so it is skipped
+			String first = last == null ? null : map.firstKey();
+			this.next = first != null ? first : last == null ? null : map.higherKey(null);
+		}
+
+		@Override
+		public boolean hasNext() {
+			if (next == null && current != null && current != last) {
+				String higher = map.higherKey(current);
+				if (higher != null && compare(higher, last) <= 0)
+					next = higher;
+			}
+			return next != null;
+		}
+
+		@SuppressWarnings("ConstantConditions")
+		private int compare(String first, @Nullable String second) {
+			Comparator<? super String> comparator = map.comparator();
+			return comparator != null ? comparator.compare(first, second) : first.compareTo(second);
+		}
+
+		@Override
+		public String next() {
+			if (!hasNext())
+				throw new NoSuchElementException();
+			current = next;
+			next = null;
+			return current;
+		}
+
+	}
+
 }
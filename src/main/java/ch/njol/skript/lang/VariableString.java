@@ -79,6 +79,12 @@ public class VariableString implements Expression<String> {
 	 */
 	private final MessageComponent[] components;
 
+	/**
+	 * The length of the last string this produced, used to size the builder of the next one.
+	 * Races are harmless, as this is only a hint.
+	 */
+	private int lengthHint = 16;
+
 	/**
 	 * Creates a new VariableString which does not contain variables.
 	 * 
@@ -390,10 +396,10 @@ public class VariableString implements Expression<String> {
 		}
 		Object[] strings = this.stringsUnformatted;
 		assert strings != null;
-		StringBuilder builder = new StringBuilder();
+		StringBuilder builder = new StringBuilder(lengthHint);
 		for (Object string : strings) {
 			if (string instanceof Expression<?>) {
-				builder.append(Classes.toString(((Expression<?>) string).getArray(event), true, mode));
+				append(builder, (Expression<?>) string, event, null);
 			} else {
 				builder.append(string);
 			}
@@ -401,6 +407,39 @@ public class VariableString implements Expression<String> {
 		return builder.toString();
 	}
 
+	/**
+	 * Appends the string representation of the values of an expression, like {@link Classes#toString(Object[], boolean, StringMode)} does.
+	 * Single expressions are evaluated without creating an array, and texts and integers are appended directly.
+	 * @param types If not null, the class of the first value is added to it.
+	 */
+	private void append(StringBuilder builder, Expression<?> expression, Object event, @Nullable List<Class<?>> types) {
+		if (!expression.isSingle()) {
+			Object[] objects = expression.getArray(event);
+			if (types != null && objects.length > 0)
+				types.add(objects[0].getClass());
+			builder.append(Classes.toString(objects, true, mode));
+			return;
+		}
+		Object value = expression.getSingle(event);
+		if (value == null) {
+			builder.append(Classes.toString(null, mode));
+			return;
+		}
+		if (types != null)
+			types.add(value.getClass());
+		if (mode == StringMode.MESSAGE || mode == StringMode.VARIABLE_NAME) {
+			// the parsers of these types return the plain value in both modes
+			if (value instanceof String) {
+				builder.append((String) value);
+				return;
+			} else if (value instanceof Long) {
+				builder.append((long) (Long) value);
+				return;
+			}
+		}
+		builder.append(Classes.toString(value, mode));
+	}
+
 	/**
 	 * Gets message components from this string. Formatting is parsed only
 	 * in simple parts for security reasons.
@@ -525,24 +564,21 @@ public class VariableString implements Expression<String> {
 
 		Object[] string = this.strings;
 		assert string != null;
-		StringBuilder builder = new StringBuilder();
-		List<Class<?>> types = new ArrayList<Class<?>>();
+		// The types of the values are only needed for the default variables of the script
+		DefaultVariables data = script != null && mode == StringMode.VARIABLE_NAME ? script.getData(DefaultVariables.class) : null;
+		List<Class<?>> types = data != null ? new ArrayList<Class<?>>() : null;
+		StringBuilder builder = new StringBuilder(lengthHint);
 		for (Object object : string) {
 			if (object instanceof Expression<?>) {
-				Object[] objects = ((Expression<?>) object).getArray(event);
-				if (objects != null && objects.length > 0)
-					types.add(objects[0].getClass());
-				builder.append(Classes.toString(objects, true, mode));
+				append(builder, (Expression<?>) object, event, types);
 			} else {
 				builder.append(object);
 			}
 		}
 		String complete = builder.toString();
-		if (script != null && mode == StringMode.VARIABLE_NAME && !types.isEmpty()) {
-			DefaultVariables data = script.getData(DefaultVariables.class);
-			if (data != null)
-				data.add(complete, types.toArray(new Class<?>[0]));
-		}
+		lengthHint = Math.max(16, complete.length());
+		if (data != null && !types.isEmpty())
+			data.add(complete, types.toArray(new Class<?>[0]));
 		return complete;
 	}
 
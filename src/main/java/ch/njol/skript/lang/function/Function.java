@@ -39,8 +39,15 @@ public abstract class Function<T> {
 
 	private final Signature<T> sign;
 	
+	/**
+	 * The cache of results if this function is pure, see {@link #memoize()}.
+	 */
+	@Nullable
+	private FunctionCache cache;
+	
 	public Function(Signature<T> sign) {
 		this.sign = sign;
+		this.cache = sign.isPure() ? createCache() : null;
 	}
 	
 	/**
@@ -68,6 +75,30 @@ public abstract class Function<T> {
 		return sign.isSingle();
 	}
 	
+	/**
+	 * Makes this function cache its results, which must thus only depend on its arguments.
+	 * The size of the cache is determined by {@link SkriptConfig#pureFunctionCacheSize}.
+	 */
+	void memoize() {
+		if (cache == null)
+			cache = createCache();
+	}
+	
+	/**
+	 * @return A new cache sized by {@link SkriptConfig#pureFunctionCacheSize}.
+	 */
+	private static FunctionCache createCache() {
+		return new FunctionCache(Math.max(1, SkriptConfig.pureFunctionCacheSize.value()));
+	}
+	
+	/**
+	 * @return The cache of results of this function, or null if this function is not pure.
+	 */
+	@Nullable
+	public FunctionCache getCache() {
+		return cache;
+	}
+	
 	@Nullable
 	public ClassInfo<T> getReturnType() {
 		return sign.getReturnType();
@@ -82,7 +113,7 @@ public abstract class Function<T> {
 	 * {@link Signature#getMaxParameters()} elements.
 	 * @return The result(s) of this function
 	 */
-	@SuppressWarnings("null")
+	@SuppressWarnings({"null", "unchecked"})
 	@Nullable
 	public final T[] execute(Object[][] params) {
 		FunctionEvent<? extends T> e = new FunctionEvent<T>(this);
@@ -124,8 +155,19 @@ public abstract class Function<T> {
 			ps[i] = val;
 		}
 		
+		// Pure functions may have been called with the same arguments before
+		FunctionCache cache = this.cache;
+		if (cache != null) {
+			Object[] cached = cache.get(ps);
+			if (cached != null)
+				return FunctionCache.isNoResult(cached) ? null : (T[]) cached;
+			ps = ps.clone(); // the arguments are kept by the cache
+		}
+		
 		// Execute function contents
 		T[] r = execute(e, ps);
+		if (cache != null)
+			cache.put(ps, r);
 		// Assert that return value type makes sense
 		assert sign.getReturnType() == null ? r == null : r == null
 			|| (r.length <= 1 || !sign.isSingle()) && !CollectionUtils.contains(r, null)
@@ -0,0 +1,140 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.lang.function;
+
+import ch.njol.skript.registrations.Classes;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded cache of the results of a pure {@link Function}, i.e. a function whose result only depends on its arguments
+ * and which has no side effects. When the cache is full, the least recently used result is evicted.
+ * Results are deep-cloned when they are cached and when they are returned, like the values of variables,
+ * so that callers can't modify the cached values.
+ * <br>
+ * Only functions that were explicitly declared to be pure are cached,
+ * see {@link JavaFunction#pure()} and {@link Signature#isPure()}.
+ */
+public final class FunctionCache {
+
+	private static final Object[] NO_RESULT = new Object[0];
+
+	private final int maximumSize;
+	private final LinkedHashMap<Arguments, Object[]> results;
+
+	private long hits, misses;
+
+	FunctionCache(int maximumSize) {
+		this.maximumSize = maximumSize;
+		this.results = new LinkedHashMap<Arguments, Object[]>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Arguments, Object[]> eldest) {
+				return size() > FunctionCache.this.maximumSize;
+			}
+		};
+	}
+
+	/**
+	 * @param arguments The arguments of a call, including default values.
+	 * @return The cached result of a call with the given arguments, {@link #NO_RESULT} if it returned nothing,
+	 * or null if no call with these arguments is cached.
+	 */
+	@Nullable
+	synchronized Object[] get(Object[][] arguments) {
+		Object[] result = results.get(new Arguments(arguments));
+		if (result == null) {
+			misses++;
+			return null;
+		}
+		hits++;
+		return result == NO_RESULT ? result : (Object[]) Classes.clone(result);
+	}
+
+	/**
+	 * Caches the result of a call.
+	 * @param arguments The arguments of the call, which must not be modified afterwards.
+	 * @param result The result of the call.
+	 */
+	synchronized void put(Object[][] arguments, @Nullable Object[] result) {
+		results.put(new Arguments(arguments), result == null ? NO_RESULT : (Object[]) Classes.clone(result));
+	}
+
+	/**
+	 * @return Whether the given value returned by {@link #get(Object[][])} means that the call returned nothing.
+	 */
+	static boolean isNoResult(Object[] result) {
+		return result == NO_RESULT;
+	}
+
+	public synchronized void clear() {
+		results.clear();
+	}
+
+	public synchronized int size() {
+		return results.size();
+	}
+
+	public int getMaximumSize() {
+		return maximumSize;
+	}
+
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "FunctionCache{size=" + results.size() + "/" + maximumSize + ", hits=" + hits + ", misses=" + misses + "}";
+	}
+
+	private static final class Arguments {
+
+		private final Object[][] arguments;
+		private final int hashCode;
+
+		private Arguments(Object[][] arguments) {
+			this.arguments = arguments;
+			this.hashCode = Arrays.deepHashCode(arguments);
+		}
+
+		@Override
+		public boolean equals(Object object) {
+			if (this == object)
+				return true;
+			if (!(object instanceof Arguments))
+				return false;
+			Arguments other = (Arguments) object;
+			return hashCode == other.hashCode && Arrays.deepEquals(arguments, other.arguments);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+	}
+
+}
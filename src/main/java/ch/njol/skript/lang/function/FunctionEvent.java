@@ -18,10 +18,19 @@
  */
 package ch.njol.skript.lang.function;
 
+import ch.njol.skript.effects.EffReturn;
+import org.jetbrains.annotations.Nullable;
+
 public final class FunctionEvent<T> {
 	
 	private final Function<? extends T> function;
 	
+	/**
+	 * The value returned by this call, which is kept here rather than in the function so that calls may be nested.
+	 */
+	@Nullable
+	private Object[] returnValue;
+	
 	public FunctionEvent(Function<? extends T> function) {
 		this.function = function;
 	}
@@ -30,4 +39,17 @@ public final class FunctionEvent<T> {
 		return function;
 	}
 	
+	/**
+	 * Should only be called by {@link EffReturn}.
+	 */
+	public void setReturnValue(@Nullable Object[] returnValue) {
+		assert this.returnValue == null;
+		this.returnValue = returnValue;
+	}
+	
+	@Nullable
+	public Object[] getReturnValue() {
+		return returnValue;
+	}
+	
 }
@@ -69,6 +69,12 @@ public class FunctionReference<T> {
 	 * Definitions of function parameters.
 	 */
 	private final Expression<?>[] parameters;
+	
+	/**
+	 * Whether the values of each parameter may have to be cloned, see {@link Classes#mayNeedCloning(Class)}.
+	 * Determined on the first call after validation.
+	 */
+	private boolean @Nullable [] cloneParameters;
 
 	/**
 	 * Indicates if the caller expects this function to return a single value.
@@ -254,11 +260,20 @@ public class FunctionReference<T> {
 		}
 		
 		signature = (Signature<? extends T>) sign;
+		cloneParameters = null;
 		sign.calls.add(this);
 		
 		return true;
 	}
 
+	/**
+	 * @return The node this function call is located in, if known.
+	 */
+	@Nullable
+	public Node getNode() {
+		return node;
+	}
+
 	@Nullable
 	public Function<? extends T> getFunction() {
 		return function;
@@ -282,6 +297,14 @@ public class FunctionReference<T> {
 			return null; // Return nothing and hope it works
 		}
 		
+		boolean[] cloneParameters = this.cloneParameters;
+		if (cloneParameters == null) {
+			cloneParameters = new boolean[parameters.length];
+			for (int i = 0; i < parameters.length; i++)
+				cloneParameters[i] = Classes.mayNeedCloning(parameters[i].getReturnType());
+			this.cloneParameters = cloneParameters;
+		}
+		
 		// Prepare parameter values for calling
 		Object[][] params = new Object[singleListParam ? 1 : parameters.length][];
 		if (singleListParam && parameters.length > 1) { // All parameters to one list
@@ -295,12 +318,18 @@ public class FunctionReference<T> {
 				params[0][i] = Classes.clone(params[0][i]);
 			}
 		} else { // Use parameters in normal way
+			// Script functions only store the values in variables, so the arrays themselves don't need to be copied for them
+			boolean copy = !(function instanceof ScriptFunction);
 			for (int i = 0; i < parameters.length; i++) {
 				Object[] array = parameters[i].getArray(e);
-				params[i] = Arrays.copyOf(array, array.length);
-				// Don't allow mutating across function boundary; same hack is applied to variables
-				for (int j = 0; j < params[i].length; j++) {
-					params[i][j] = Classes.clone(params[i][j]);
+				if (cloneParameters[i]) {
+					params[i] = Arrays.copyOf(array, array.length);
+					// Don't allow mutating across function boundary; same hack is applied to variables
+					for (int j = 0; j < params[i].length; j++) {
+						params[i][j] = Classes.clone(params[i][j]);
+					}
+				} else {
+					params[i] = copy ? Arrays.copyOf(array, array.length) : array;
 				}
 			}
 		}
@@ -31,6 +31,7 @@ import org.jetbrains.annotations.Nullable;
 import org.skriptlang.skript.lang.script.Script;
 
 import java.util.*;
+import java.util.function.Predicate;
 
 /**
  * Static methods to work with functions.
@@ -131,8 +132,24 @@ public abstract class Functions {
 	 * @see Functions#registerSignature(Signature)
 	 */
 	@Nullable
-	@SuppressWarnings({"unchecked", "null"})
 	public static Signature<?> parseSignature(String script, String name, String args, @Nullable String returnType, boolean local) {
+		return parseSignature(script, name, args, returnType, local, false);
+	}
+
+	/**
+	 * Parses the signature from the given arguments.
+	 * @param script Script file name (<b>might</b> be used for some checks).
+	 * @param name The name of the function.
+	 * @param args The parameters of the function. See {@link Parameter#parse(String)}
+	 * @param returnType The return type of the function
+	 * @param local If the signature of function is local.
+	 * @param pure If the function was declared to be pure, see {@link Signature#isPure()}.
+	 * @return Parsed signature or null if something went wrong.
+	 * @see Functions#registerSignature(Signature)
+	 */
+	@Nullable
+	@SuppressWarnings({"unchecked", "null"})
+	public static Signature<?> parseSignature(String script, String name, String args, @Nullable String returnType, boolean local, boolean pure) {
 		List<Parameter<?>> parameters = Parameter.parse(args);
 		if (parameters == null)
 			return null;
@@ -152,7 +169,7 @@ public abstract class Functions {
 			if (returnClass == null)
 				return signError("Cannot recognise the type '" + returnType + "'");
 		}
-		return new Signature<Object>(script, name, parameters.toArray(new Parameter[0]), local, (ClassInfo<Object>) returnClass, singleReturn, null);
+		return new Signature<Object>(script, name, parameters.toArray(new Parameter[0]), local, (ClassInfo<Object>) returnClass, singleReturn, null, pure);
 	}
 
 	/**
@@ -311,6 +328,20 @@ public abstract class Functions {
 		return namespace.getSignature(name, false);
 	}
 
+	/**
+	 * @return The signatures of all global functions, including Java functions, sorted by name.
+	 */
+	public static List<Signature<?>> getGlobalSignatures() {
+		List<Signature<?>> signatures = new ArrayList<Signature<?>>(globalFunctions.size());
+		for (Map.Entry<String, Namespace> entry : globalFunctions.entrySet()) {
+			Signature<?> signature = entry.getValue().getSignature(entry.getKey(), false);
+			if (signature != null)
+				signatures.add(signature);
+		}
+		signatures.sort(Comparator.comparing(Signature::getName));
+		return signatures;
+	}
+
 	/**
 	 * Gets a signature of function with given name.
 	 * 
@@ -403,6 +434,36 @@ public abstract class Functions {
 		}
 	}
 
+	/**
+	 * Queues the calls of a function that were made from the script declaring it for revalidation.
+	 * Calls from other scripts are already queued by {@link #unregisterFunction(Signature)}.
+	 * Remember to call {@link #validateFunctions()} after calling this.
+	 * <br>
+	 * This is used when only some structures of a script are reloaded, since the remaining ones may still call the function.
+	 * Calls from the structures that were unloaded must be removed using {@link #removeCalls(Predicate)} first.
+	 * @param signature The signature of the function.
+	 */
+	public static void revalidateScriptCalls(Signature<?> signature) {
+		for (FunctionReference<?> ref : signature.calls) {
+			if (signature.script.equals(ref.script))
+				toValidate.add(ref);
+		}
+	}
+
+	/**
+	 * Removes calls from the functions they call, so that they are no longer validated when those functions change.
+	 * This is used for calls from structures that are unloaded while the rest of their script stays loaded,
+	 *  as they would otherwise be validated until they are garbage collected.
+	 * @param filter Which calls to remove.
+	 */
+	public static void removeCalls(Predicate<FunctionReference<?>> filter) {
+		for (Namespace namespace : namespaces.values()) {
+			for (Signature<?> signature : namespace.getSignatures())
+				signature.calls.removeIf(filter);
+		}
+		toValidate.removeIf(filter);
+	}
+
 	public static void validateFunctions() {
 		for (FunctionReference<?> c : toValidate)
 			c.validateFunction(false);
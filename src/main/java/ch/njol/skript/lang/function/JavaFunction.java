@@ -92,6 +92,19 @@ public abstract class JavaFunction<T> extends Function<T> {
 		return this;
 	}
 	
+	/**
+	 * Declares this function to be pure, i.e. that its result only depends on its arguments
+	 * and that it has no side effects, which makes its results be cached.
+	 * This should only be used for functions that are more expensive than a cache lookup.
+	 *
+	 * @return This JavaFunction object
+	 * @see #getCache()
+	 */
+	public JavaFunction<T> pure() {
+		memoize();
+		return this;
+	}
+	
 	@Nullable
 	public String[] getDescription() {
 		return description;
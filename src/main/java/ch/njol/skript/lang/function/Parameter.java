@@ -35,6 +35,7 @@ import ch.njol.util.StringUtils;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
 import java.util.regex.Matcher;
@@ -69,6 +70,12 @@ public final class Parameter<T> {
 	 */
 	final boolean single;
 	
+	/**
+	 * The names of the local variables holding the values of this parameter if it takes many values,
+	 * i.e. {@code name::1}, {@code name::2}, etc. Grown as needed, so function calls don't have to build these names.
+	 */
+	private volatile String[] elementNames = new String[0];
+	
 	@SuppressWarnings("null")
 	public Parameter(String name, ClassInfo<T> type, boolean single, @Nullable Expression<? extends T> def) {
 		this.name = name;
@@ -184,6 +191,21 @@ public final class Parameter<T> {
 		return name;
 	}
 	
+	/**
+	 * @param index The index of a value of this parameter, starting at 0.
+	 * @return The name of the local variable holding the value at the given index, i.e. {@code name::(index + 1)}.
+	 */
+	String getElementName(int index) {
+		String[] names = elementNames;
+		if (index < names.length)
+			return names[index];
+		String[] newNames = Arrays.copyOf(names, Math.max(index + 1, names.length * 2));
+		for (int i = names.length; i < newNames.length; i++)
+			newNames[i] = name + Variable.SEPARATOR + (i + 1);
+		elementNames = newNames;
+		return newNames[index];
+	}
+	
 	/**
 	 * Get the Expression that will be used to provide the default value of this parameter when the function is called.
 	 * @return Expression that will provide default value of this parameter
@@ -20,7 +20,6 @@ package ch.njol.skript.lang.function;
 
 import ch.njol.skript.ScriptLoader;
 import ch.njol.skript.config.SectionNode;
-import ch.njol.skript.effects.EffReturn;
 import ch.njol.skript.lang.Trigger;
 import ch.njol.skript.lang.util.SimpleEvent;
 import ch.njol.skript.variables.Variables;
@@ -51,46 +50,37 @@ public class ScriptFunction<T> extends Function<T> {
 		}
 	}
 	
-	private boolean returnValueSet = false;
-	@Nullable
-	private T[] returnValue = null;
-	
-	/**
-	 * Should only be called by {@link EffReturn}.
-	 */
-	public final void setReturnValue(final @Nullable T[] value) {
-		assert !returnValueSet;
-		returnValueSet = true;
-		returnValue = value;
-	}
-	
 	// REMIND track possible types of local variables (including undefined variables) (consider functions, commands, and EffChange) - maybe make a general interface for this purpose
 	// REM: use patterns, e.g. {_a%b%} is like "a.*", and thus subsequent {_axyz} may be set and of that type.
 	@Override
 	@Nullable
+	@SuppressWarnings("unchecked")
 	public T[] execute(final FunctionEvent<?> e, final Object[][] params) {
 		Parameter<?>[] parameters = getSignature().getParameters();
-		for (int i = 0; i < parameters.length; i++) {
-			Parameter<?> p = parameters[i];
-			Object[] val = params[i];
-			if (p.single && val.length > 0) {
-				Variables.setVariable(p.name, val[0], e, true);
-			} else {
-				for (int j = 0; j < val.length; j++) {
-					Variables.setVariable(p.name + "::" + (j + 1), val[j], e, true);
+		if (parameters.length > 0) {
+			// The event is new, so its local variables can be built up front instead of being looked up for every value
+			Object locals = Variables.createLocalVariables();
+			for (int i = 0; i < parameters.length; i++) {
+				Parameter<?> p = parameters[i];
+				Object[] val = params[i];
+				if (p.single && val.length > 0) {
+					Variables.setLocalVariable(locals, p.name, val[0]);
+				} else {
+					for (int j = 0; j < val.length; j++) {
+						Variables.setLocalVariable(locals, p.getElementName(j), val[j]);
+					}
 				}
 			}
+			Variables.setLocalVariables(e, locals);
 		}
 		
 		trigger.execute(e);
-		return returnValue;
+		return (T[]) e.getReturnValue();
 	}
 
 	@Override
 	public boolean resetReturnValue() {
-		returnValue = null;
-		returnValueSet = false;
-		return true;
+		return true; // the return value is kept by the FunctionEvent of each call
 	}
 
 }
@@ -64,6 +64,12 @@ public class Signature<T> {
 	 */
 	final boolean single;
 	
+	/**
+	 * Whether the function was declared to be pure, in which case its results are cached.
+	 * @see FunctionCache
+	 */
+	final boolean pure;
+	
 	/**
 	 * References (function calls) to function with this signature.
 	 */
@@ -80,7 +86,8 @@ public class Signature<T> {
 					 Parameter<?>[] parameters, boolean local,
 					 @Nullable ClassInfo<T> returnType,
 					 boolean single,
-					 @Nullable String originClassPath) {
+					 @Nullable String originClassPath,
+					 boolean pure) {
 		this.script = script;
 		this.name = name;
 		this.parameters = parameters;
@@ -88,10 +95,20 @@ public class Signature<T> {
 		this.returnType = returnType;
 		this.single = single;
 		this.originClassPath = originClassPath;
+		this.pure = pure;
 
 		calls = Collections.newSetFromMap(new WeakHashMap<FunctionReference<?>, Boolean>());
 	}
 
+	public Signature(String script,
+					 String name,
+					 Parameter<?>[] parameters, boolean local,
+					 @Nullable ClassInfo<T> returnType,
+					 boolean single,
+					 @Nullable String originClassPath) {
+		this(script, name, parameters, local, returnType, single, originClassPath, false);
+	}
+
 	public Signature(String script, String name, Parameter<?>[] parameters, boolean local, @Nullable ClassInfo<T> returnType, boolean single) {
 		this(script, name, parameters, local, returnType, single, null);
 	}
@@ -122,6 +139,10 @@ public class Signature<T> {
 		return single;
 	}
 
+	public boolean isPure() {
+		return pure;
+	}
+
 	public @org.jetbrains.annotations.Nullable String getOriginClassPath() {
 		return originClassPath;
 	}
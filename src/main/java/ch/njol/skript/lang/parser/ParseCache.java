@@ -0,0 +1,416 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.lang.parser;
+
+import ch.njol.skript.Skript;
+import ch.njol.skript.SkriptConfig;
+import ch.njol.skript.classes.ClassInfo;
+import ch.njol.skript.config.Config;
+import ch.njol.skript.lang.ExpressionInfo;
+import ch.njol.skript.lang.SyntaxElementInfo;
+import ch.njol.skript.lang.function.Functions;
+import ch.njol.skript.lang.function.Parameter;
+import ch.njol.skript.lang.function.Signature;
+import ch.njol.skript.util.ExceptionUtils;
+import org.jetbrains.annotations.Nullable;
+import org.skriptlang.skript.lang.script.Script;
+import org.skriptlang.skript.lang.script.ScriptData;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * A persisted cache of the parse decisions made for a single {@link Script},
+ *  used when {@link SkriptConfig#enableScriptCaching} is enabled.
+ * <br>
+ * For every string parsed as a syntax element, the cache remembers which element and which of its patterns matched.
+ * When the same script is loaded again with the same set of registered syntax elements,
+ *  {@link ch.njol.skript.lang.SkriptParser} tries the remembered elements first instead of matching the string against
+ *  every registered pattern. If none of the remembered elements match anymore, a normal parse is performed.
+ * <br>
+ * A cache is only valid for the exact script content, syntax registry and environment it was created with.
+ * The environment consists of Skript's config and the signatures of all global functions,
+ *  as they decide whether elements that weren't remembered could match.
+ * Any change to these causes the persisted cache to be discarded.
+ * <br>
+ * Other state that syntax elements may depend on while parsing, e.g. aliases or state kept by addons, is not checked.
+ * A change to it only affects scripts using such syntax, and is picked up once the script or the syntax registry changes.
+ */
+public final class ParseCache implements ScriptData {
+
+	private static final int MAGIC = 0x534B5043; // "SKPC"
+	private static final byte VERSION = 2;
+
+	/**
+	 * The folder, relative to Skript's data folder, that parse caches are saved in.
+	 */
+	public static final String CACHE_FOLDER = "cache";
+
+	@Nullable
+	private static volatile byte[] syntaxFingerprint;
+
+	private final File file;
+	private final byte[] contentHash;
+	private final byte[] fingerprint;
+
+	/**
+	 * The environment hash read from the persisted cache, which is only compared once parsing starts,
+	 *  see {@link #hashEnvironment()}.
+	 */
+	@Nullable
+	private final byte[] persistedEnvironment;
+
+	/**
+	 * The environment hash at the time the script was parsed, or null if nothing has been parsed yet.
+	 */
+	@Nullable
+	private byte[] environment;
+
+	/**
+	 * Parse decisions read from the persisted cache.
+	 */
+	private Map<String, List<Hint>> hints;
+
+	/**
+	 * Parse decisions made while loading the script, which will be persisted by {@link #save()}.
+	 */
+	private final Map<String, List<Hint>> recorded = new HashMap<String, List<Hint>>();
+
+	private int hits, misses;
+
+	private ParseCache(File file, byte[] contentHash, byte[] fingerprint, @Nullable byte[] persistedEnvironment, Map<String, List<Hint>> hints) {
+		this.file = file;
+		this.contentHash = contentHash;
+		this.fingerprint = fingerprint;
+		this.persistedEnvironment = persistedEnvironment;
+		this.hints = hints;
+	}
+
+	/**
+	 * @param parser The parser to get the cache of.
+	 * @return The cache of the script the parser is currently parsing,
+	 *  or null if the parser is not active or script caching is disabled.
+	 */
+	@Nullable
+	public static ParseCache get(ParserInstance parser) {
+		if (!parser.isActive())
+			return null;
+		return parser.getCurrentScript().getData(ParseCache.class);
+	}
+
+	/**
+	 * Creates the cache for the provided script, reading any previously persisted parse decisions that are still valid.
+	 * This must be called before any of the script's nodes are modified by parsing.
+	 * @param script The script to create the cache for. Its config must have a file.
+	 * @return The cache for the script.
+	 */
+	public static ParseCache load(Script script) {
+		Config config = script.getConfig();
+		File scriptFile = config.getFile();
+		if (scriptFile == null)
+			throw new IllegalArgumentException("A script must have a file to be cached.");
+
+		byte[] contentHash = hashContent(config);
+		byte[] fingerprint = getSyntaxFingerprint();
+		File file = new File(new File(Skript.getInstance().getDataFolder(), CACHE_FOLDER), toHex(digest(scriptFile.getPath())) + ".cache");
+
+		byte[] persistedEnvironment = new byte[contentHash.length];
+		Map<String, List<Hint>> hints = Collections.emptyMap();
+		if (file.isFile()) {
+			try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+				hints = read(in, contentHash, fingerprint, persistedEnvironment);
+			} catch (IOException e) {
+				if (Skript.debug())
+					Skript.debug("Could not read the parse cache of " + config.getFileName() + ": " + ExceptionUtils.toString(e));
+			}
+		}
+		return new ParseCache(file, contentHash, fingerprint, hints.isEmpty() ? null : persistedEnvironment, hints);
+	}
+
+	/**
+	 * @param input The (trimmed) string that is about to be parsed.
+	 * @return The parse decisions previously made for the input, or null if there are none.
+	 */
+	@Nullable
+	public List<Hint> getHints(String input) {
+		if (environment == null) {
+			// functions are only registered once the script is loading, so this can't be checked when the cache is read
+			environment = hashEnvironment();
+			if (!Arrays.equals(environment, persistedEnvironment))
+				hints = Collections.emptyMap();
+		}
+		List<Hint> inputHints = hints.get(input);
+		if (inputHints == null) {
+			misses++;
+		} else {
+			hits++;
+		}
+		return inputHints;
+	}
+
+	/**
+	 * Remembers that the provided input was successfully parsed using the provided element and pattern.
+	 */
+	public void record(String input, SyntaxElementInfo<?> info, int patternIndex) {
+		List<Hint> inputHints = recorded.computeIfAbsent(input, key -> new ArrayList<Hint>(1));
+		Hint hint = new Hint(info.getElementClass().getName(), patternIndex);
+		if (!inputHints.contains(hint))
+			inputHints.add(hint);
+	}
+
+	/**
+	 * Persists the parse decisions recorded while loading the script.
+	 * Failures are only reported in debug mode, as the cache is merely an optimization.
+	 */
+	public void save() {
+		if (Skript.logHigh())
+			Skript.info("parse cache of '" + file.getName() + "': " + hits + " hits, " + misses + " misses");
+		byte[] environment = this.environment;
+		if (environment == null || recorded.isEmpty() || recorded.equals(hints))
+			return; // nothing new to persist
+		File folder = file.getParentFile();
+		if (!folder.isDirectory() && !folder.mkdirs())
+			return;
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+			write(out, environment);
+		} catch (IOException e) {
+			if (Skript.debug())
+				Skript.debug("Could not save the parse cache " + file.getName() + ": " + ExceptionUtils.toString(e));
+		}
+	}
+
+	/*
+	 * File format
+	 */
+
+	private void write(DataOutputStream out, byte[] environment) throws IOException {
+		out.writeInt(MAGIC);
+		out.writeByte(VERSION);
+		out.write(fingerprint);
+		out.write(contentHash);
+		out.write(environment);
+
+		// Element class names are stored once and referenced by index
+		Map<String, Integer> classIndices = new LinkedHashMap<String, Integer>();
+		for (List<Hint> inputHints : recorded.values()) {
+			for (Hint hint : inputHints)
+				classIndices.putIfAbsent(hint.elementClass, classIndices.size());
+		}
+		out.writeInt(classIndices.size());
+		for (String elementClass : classIndices.keySet())
+			out.writeUTF(elementClass);
+
+		int count = 0;
+		for (String input : recorded.keySet()) {
+			if (isWritable(input))
+				count++;
+		}
+		out.writeInt(count);
+		for (Map.Entry<String, List<Hint>> entry : recorded.entrySet()) {
+			if (!isWritable(entry.getKey()))
+				continue;
+			out.writeUTF(entry.getKey());
+			List<Hint> inputHints = entry.getValue();
+			out.writeShort(inputHints.size());
+			for (Hint hint : inputHints) {
+				out.writeInt(classIndices.get(hint.elementClass));
+				out.writeShort(hint.patternIndex);
+			}
+		}
+	}
+
+	/**
+	 * @param environment Filled with the persisted environment hash, which is checked later, see {@link #getHints(String)}.
+	 */
+	private static Map<String, List<Hint>> read(DataInputStream in, byte[] contentHash, byte[] fingerprint, byte[] environment) throws IOException {
+		if (in.readInt() != MAGIC || in.readByte() != VERSION)
+			return Collections.emptyMap();
+		byte[] hash = new byte[fingerprint.length];
+		in.readFully(hash);
+		if (!Arrays.equals(hash, fingerprint)) // Syntax registry changed
+			return Collections.emptyMap();
+		hash = new byte[contentHash.length];
+		in.readFully(hash);
+		if (!Arrays.equals(hash, contentHash)) // Script changed
+			return Collections.emptyMap();
+		in.readFully(environment);
+
+		String[] classes = new String[in.readInt()];
+		for (int i = 0; i < classes.length; i++)
+			classes[i] = in.readUTF().intern();
+
+		int count = in.readInt();
+		Map<String, List<Hint>> hints = new HashMap<String, List<Hint>>((int) (count / 0.75f) + 1);
+		for (int i = 0; i < count; i++) {
+			String input = in.readUTF();
+			int size = in.readUnsignedShort();
+			List<Hint> inputHints = new ArrayList<Hint>(size);
+			for (int j = 0; j < size; j++)
+				inputHints.add(new Hint(classes[in.readInt()], in.readUnsignedShort()));
+			hints.put(input, inputHints);
+		}
+		return hints;
+	}
+
+	/**
+	 * {@link DataOutputStream#writeUTF(String)} can only write strings up to 65535 bytes.
+	 */
+	private static boolean isWritable(String input) {
+		return input.length() <= 65535 / 3 || input.getBytes(StandardCharsets.UTF_8).length <= 65535;
+	}
+
+	/*
+	 * Hashing
+	 */
+
+	/**
+	 * @return A hash of all registered syntax elements and their patterns.
+	 * Only cached once registrations have stopped, as it may still change before that.
+	 */
+	private static byte[] getSyntaxFingerprint() {
+		byte[] fingerprint = syntaxFingerprint;
+		if (fingerprint != null)
+			return fingerprint;
+
+		MessageDigest digest = newDigest();
+		update(digest, Skript.getVersion().toString());
+		update(digest, Skript.getStatements());
+		update(digest, Skript.getSections());
+		update(digest, Skript.getEvents());
+		update(digest, Skript.getStructures());
+		Iterator<ExpressionInfo<?, ?>> expressions = Skript.getExpressions();
+		while (expressions.hasNext()) {
+			ExpressionInfo<?, ?> info = expressions.next();
+			update(digest, info);
+			update(digest, info.getReturnType().getName());
+		}
+		fingerprint = digest.digest();
+
+		if (!Skript.isAcceptRegistrations())
+			syntaxFingerprint = fingerprint;
+		return fingerprint;
+	}
+
+	private static void update(MessageDigest digest, Collection<? extends SyntaxElementInfo<?>> infos) {
+		for (SyntaxElementInfo<?> info : infos)
+			update(digest, info);
+	}
+
+	private static void update(MessageDigest digest, SyntaxElementInfo<?> info) {
+		update(digest, info.getElementClass().getName());
+		for (String pattern : info.patterns)
+			update(digest, pattern);
+	}
+
+	/**
+	 * @return A hash of the state outside the script and the syntax registry that affects which elements match,
+	 *  i.e. Skript's config and the signatures of all global functions.
+	 */
+	private static byte[] hashEnvironment() {
+		MessageDigest digest = newDigest();
+		Config config = SkriptConfig.getConfig();
+		if (config != null)
+			config.getMainNode().digest(digest);
+		for (Signature<?> signature : Functions.getGlobalSignatures()) {
+			update(digest, signature.getName());
+			for (Parameter<?> parameter : signature.getParameters())
+				update(digest, parameter.toString());
+			ClassInfo<?> returnType = signature.getReturnType();
+			update(digest, returnType == null ? "" : returnType.getCodeName() + (signature.isSingle() ? "" : "s"));
+		}
+		return digest.digest();
+	}
+
+	private static byte[] hashContent(Config config) {
+		MessageDigest digest = newDigest();
+		config.getMainNode().digest(digest);
+		return digest.digest();
+	}
+
+	private static void update(MessageDigest digest, String string) {
+		digest.update(string.getBytes(StandardCharsets.UTF_8));
+		digest.update((byte) 0);
+	}
+
+	private static byte[] digest(String string) {
+		MessageDigest digest = newDigest();
+		update(digest, string);
+		return digest.digest();
+	}
+
+	private static MessageDigest newDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is required to be supported by every Java platform", e);
+		}
+	}
+
+	private static String toHex(byte[] bytes) {
+		StringBuilder builder = new StringBuilder(bytes.length * 2);
+		for (byte b : bytes)
+			builder.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+		return builder.toString();
+	}
+
+	/**
+	 * A single parse decision: the element class and the index of its pattern that matched.
+	 */
+	public static final class Hint {
+
+		private final String elementClass;
+		private final int patternIndex;
+
+		private Hint(String elementClass, int patternIndex) {
+			this.elementClass = elementClass;
+			this.patternIndex = patternIndex;
+		}
+
+		/**
+		 * @return Whether this decision was made using the provided element.
+		 */
+		public boolean matches(SyntaxElementInfo<?> info) {
+			return patternIndex < info.patterns.length && elementClass.equals(info.getElementClass().getName());
+		}
+
+		public int getPatternIndex() {
+			return patternIndex;
+		}
+
+		@Override
+		public boolean equals(Object object) {
+			if (this == object)
+				return true;
+			if (!(object instanceof Hint))
+				return false;
+			Hint other = (Hint) object;
+			return patternIndex == other.patternIndex && elementClass.equals(other.elementClass);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * elementClass.hashCode() + patternIndex;
+		}
+
+	}
+
+}
@@ -0,0 +1,233 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.lang.parser;
+
+import ch.njol.skript.Skript;
+import ch.njol.skript.SkriptConfig;
+import ch.njol.skript.config.Node;
+import ch.njol.skript.lang.SyntaxElementInfo;
+import ch.njol.skript.util.Timespan;
+import org.jetbrains.annotations.Nullable;
+import org.skriptlang.skript.lang.script.Script;
+import org.skriptlang.skript.lang.script.ScriptData;
+
+import java.util.*;
+
+/**
+ * Collects parse time statistics for a single {@link Script},
+ *  used when {@link SkriptConfig#parseMetrics} is enabled.
+ * <br>
+ * For every pattern of every syntax element that is tried, the amount of attempts and successes is counted,
+ *  and the time spent matching the pattern and initializing the element is measured.
+ * Times exclude the time spent parsing nested elements, as those are recorded separately,
+ *  so a report shows which patterns are expensive themselves rather than which contain the most.
+ * The time taken to parse each line is recorded as well.
+ */
+public final class ParseMetrics implements ScriptData {
+
+	/**
+	 * The amount of entries shown per category by {@link #report()}.
+	 */
+	private static final int REPORT_SIZE = 10;
+
+	private final String scriptName;
+
+	private final Map<PatternKey, PatternStats> patterns = new HashMap<PatternKey, PatternStats>();
+	private final List<LineStats> lines = new ArrayList<LineStats>();
+
+	/**
+	 * The time spent in nested attempts of the attempt that is currently being measured.
+	 */
+	private long nestedNanos;
+
+	public ParseMetrics(Script script) {
+		this.scriptName = script.getConfig().getFileName();
+	}
+
+	/**
+	 * @param parser The parser to get the metrics of.
+	 * @return The metrics of the script the parser is currently parsing,
+	 *  or null if the parser is not active or parse metrics are disabled.
+	 */
+	@Nullable
+	public static ParseMetrics get(ParserInstance parser) {
+		if (!parser.isActive())
+			return null;
+		return parser.getCurrentScript().getData(ParseMetrics.class);
+	}
+
+	/**
+	 * Must be called right before an attempt to parse a pattern.
+	 * @return A value that has to be passed to {@link #endAttempt(SyntaxElementInfo, int, boolean, long, long, long)}.
+	 */
+	public long startAttempt() {
+		long outerNested = nestedNanos;
+		nestedNanos = 0;
+		return outerNested;
+	}
+
+	/**
+	 * @return The time spent in nested attempts since {@link #startAttempt()} was called.
+	 */
+	public long getNestedNanos() {
+		return nestedNanos;
+	}
+
+	/**
+	 * Records an attempt to parse a pattern.
+	 * @param success Whether the pattern matched and the element was initialized successfully.
+	 * @param outerNested The value returned by {@link #startAttempt()}.
+	 * @param matchNanos The time spent matching the pattern, excluding nested attempts.
+	 * @param totalNanos The total time spent on the attempt, including nested attempts.
+	 */
+	public void endAttempt(SyntaxElementInfo<?> info, int patternIndex, boolean success, long outerNested, long matchNanos, long totalNanos) {
+		PatternStats stats = patterns.computeIfAbsent(new PatternKey(info, patternIndex), key -> new PatternStats());
+		stats.attempts++;
+		if (success)
+			stats.successes++;
+		long selfNanos = totalNanos - nestedNanos;
+		stats.matchNanos += matchNanos;
+		stats.initNanos += Math.max(0, selfNanos - matchNanos);
+		nestedNanos = outerNested + totalNanos;
+	}
+
+	/**
+	 * Records the time it took to parse a line.
+	 */
+	public void recordLine(Node node, long nanos) {
+		lines.add(new LineStats(node.getLine(), node.getKey(), nanos));
+	}
+
+	/**
+	 * Prints the most expensive patterns, elements and lines of the script.
+	 */
+	public void report() {
+		if (patterns.isEmpty())
+			return;
+
+		Map<Class<?>, PatternStats> elements = new HashMap<Class<?>, PatternStats>();
+		long totalNanos = 0;
+		long attempts = 0;
+		for (Map.Entry<PatternKey, PatternStats> entry : patterns.entrySet()) {
+			PatternStats stats = entry.getValue();
+			elements.computeIfAbsent(entry.getKey().info.getElementClass(), key -> new PatternStats()).add(stats);
+			totalNanos += stats.getNanos();
+			attempts += stats.attempts;
+		}
+
+		Skript.info("Parse metrics of '" + scriptName + "': " + attempts + " pattern attempts, " + format(totalNanos) + " spent matching and initializing");
+
+		Skript.info("Slowest syntax elements:");
+		elements.entrySet().stream()
+			.sorted(Comparator.comparingLong((Map.Entry<Class<?>, PatternStats> entry) -> entry.getValue().getNanos()).reversed())
+			.limit(REPORT_SIZE)
+			.forEach(entry -> Skript.info("  " + entry.getKey().getName() + ": " + entry.getValue()));
+
+		Skript.info("Slowest patterns:");
+		patterns.entrySet().stream()
+			.sorted(Comparator.comparingLong((Map.Entry<PatternKey, PatternStats> entry) -> entry.getValue().getNanos()).reversed())
+			.limit(REPORT_SIZE)
+			.forEach(entry -> Skript.info("  " + entry.getKey() + ": " + entry.getValue()));
+
+		if (!lines.isEmpty()) {
+			Skript.info("Slowest lines:");
+			lines.stream()
+				.sorted(Comparator.comparingLong((LineStats line) -> line.nanos).reversed())
+				.limit(REPORT_SIZE)
+				.forEach(line -> Skript.info("  line " + line.line + " (" + line.key + "): " + format(line.nanos)));
+		}
+	}
+
+	private static String format(long nanos) {
+		if (nanos < 1_000_000)
+			return (nanos / 1000) + "µs";
+		return new Timespan(nanos / 1_000_000).toString();
+	}
+
+	private static final class PatternKey {
+
+		private final SyntaxElementInfo<?> info;
+		private final int patternIndex;
+
+		private PatternKey(SyntaxElementInfo<?> info, int patternIndex) {
+			this.info = info;
+			this.patternIndex = patternIndex;
+		}
+
+		@Override
+		public boolean equals(Object object) {
+			if (this == object)
+				return true;
+			if (!(object instanceof PatternKey))
+				return false;
+			PatternKey other = (PatternKey) object;
+			return patternIndex == other.patternIndex && info == other.info;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * System.identityHashCode(info) + patternIndex;
+		}
+
+		@Override
+		public String toString() {
+			return info.getElementClass().getSimpleName() + " '" + info.patterns[patternIndex] + "'";
+		}
+
+	}
+
+	private static final class PatternStats {
+
+		private int attempts, successes;
+		private long matchNanos, initNanos;
+
+		private long getNanos() {
+			return matchNanos + initNanos;
+		}
+
+		private void add(PatternStats other) {
+			attempts += other.attempts;
+			successes += other.successes;
+			matchNanos += other.matchNanos;
+			initNanos += other.initNanos;
+		}
+
+		@Override
+		public String toString() {
+			return successes + "/" + attempts + " matched, " + format(matchNanos) + " matching, " + format(initNanos) + " initializing";
+		}
+
+	}
+
+	private static final class LineStats {
+
+		private final int line;
+		@Nullable
+		private final String key;
+		private final long nanos;
+
+		private LineStats(int line, @Nullable String key, long nanos) {
+			this.line = line;
+			this.key = key;
+			this.nanos = nanos;
+		}
+
+	}
+
+}
@@ -19,14 +19,24 @@
 package ch.njol.skript.localization;
 
 import ch.njol.skript.Skript;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.IllegalFormatException;
 
 public final class ArgsMessage extends Message {
 	
+	@Nullable
+	private CompiledFormat format;
+
 	public ArgsMessage(String key) {
 		super(key);
 	}
+
+	@Override
+	protected void onValueChange() {
+		String value = getValue();
+		format = value == null ? null : CompiledFormat.compile(value);
+	}
 	
 	@Override
 	public String toString() {
@@ -35,8 +45,9 @@ public final class ArgsMessage extends Message {
 	
 	public String toString(Object... args) {
 		try {
-			String val = getValue();
-			return val == null ? key : "" + String.format(val, args);
+			validate();
+			CompiledFormat format = this.format;
+			return format == null ? key : format.format(args);
 		} catch (IllegalFormatException e) {
 			String m = "The formatted message '" + key + "' uses an illegal format: " + e.getLocalizedMessage();
 			Skript.adminBroadcast("<red>" + m);
@@ -0,0 +1,143 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.localization;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Formattable;
+import java.util.IllegalFormatException;
+import java.util.List;
+import java.util.MissingFormatArgumentException;
+
+/**
+ * A format string for {@link String#format(String, Object...)} that has been parsed in advance.
+ * <br>
+ * Only formats consisting of {@code %s}, {@code %1$s}, {@code %%} and {@code %n} are compiled,
+ *  as that is what language files use. Any other format is passed to {@link String#format(String, Object...)} as-is.
+ */
+final class CompiledFormat {
+
+	private static final int LITERAL = -1;
+
+	private final String format;
+
+	/**
+	 * The literal text of each part, or null if {@link #parts} couldn't be created.
+	 */
+	@Nullable
+	private final String[] literals;
+
+	/**
+	 * The argument index of each part, or {@link #LITERAL}.
+	 */
+	private final int[] parts;
+
+	private CompiledFormat(String format, @Nullable String[] literals, int[] parts) {
+		this.format = format;
+		this.literals = literals;
+		this.parts = parts;
+	}
+
+	public static CompiledFormat compile(String format) {
+		List<String> literals = new ArrayList<String>();
+		List<Integer> parts = new ArrayList<Integer>();
+		StringBuilder literal = new StringBuilder();
+		int nextIndex = 0;
+		int length = format.length();
+		for (int i = 0; i < length; i++) {
+			char c = format.charAt(i);
+			if (c != '%') {
+				literal.append(c);
+				continue;
+			}
+			if (i + 1 == length)
+				return new CompiledFormat(format, null, new int[0]);
+			char next = format.charAt(i + 1);
+			int index;
+			int end;
+			if (next == '%' || next == 'n') {
+				literal.append(next == '%' ? "%" : System.lineSeparator());
+				i++;
+				continue;
+			} else if (next == 's') {
+				index = nextIndex++;
+				end = i + 1;
+			} else {
+				int dollar = i + 1;
+				while (dollar < length && '0' <= format.charAt(dollar) && format.charAt(dollar) <= '9')
+					dollar++;
+				if (dollar == i + 1 || dollar + 1 >= length || format.charAt(dollar) != '$' || format.charAt(dollar + 1) != 's')
+					return new CompiledFormat(format, null, new int[0]);
+				try {
+					index = Integer.parseInt(format.substring(i + 1, dollar)) - 1;
+				} catch (NumberFormatException e) {
+					return new CompiledFormat(format, null, new int[0]);
+				}
+				if (index < 0)
+					return new CompiledFormat(format, null, new int[0]);
+				end = dollar + 1;
+			}
+			if (literal.length() != 0) {
+				literals.add(literal.toString());
+				parts.add(LITERAL);
+				literal.setLength(0);
+			}
+			literals.add(null);
+			parts.add(index);
+			i = end;
+		}
+		if (literal.length() != 0) {
+			literals.add(literal.toString());
+			parts.add(LITERAL);
+		}
+		int[] indices = new int[parts.size()];
+		for (int i = 0; i < indices.length; i++)
+			indices[i] = parts.get(i);
+		return new CompiledFormat(format, literals.toArray(new String[0]), indices);
+	}
+
+	/**
+	 * Equivalent to <tt>String.format(format, args)</tt>.
+	 * @throws IllegalFormatException If the format is invalid or there are too few arguments.
+	 */
+	public String format(Object... args) {
+		String[] literals = this.literals;
+		if (literals == null)
+			return String.format(format, args);
+		StringBuilder builder = new StringBuilder(format.length() + 16 * args.length);
+		for (int i = 0; i < parts.length; i++) {
+			int index = parts[i];
+			if (index == LITERAL) {
+				builder.append(literals[i]);
+				continue;
+			}
+			if (index >= args.length)
+				throw new MissingFormatArgumentException("%" + (index + 1) + "$s");
+			Object arg = args[index];
+			if (arg instanceof Formattable) {
+				builder.append(String.format("%s", arg));
+			} else {
+				builder.append(arg);
+			}
+		}
+		return builder.toString();
+	}
+
+}
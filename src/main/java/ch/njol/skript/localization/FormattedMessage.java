@@ -19,6 +19,7 @@
 package ch.njol.skript.localization;
 
 import ch.njol.skript.Skript;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.IllegalFormatException;
 import java.util.concurrent.atomic.AtomicReference;
@@ -26,6 +27,8 @@ import java.util.concurrent.atomic.AtomicReference;
 public final class FormattedMessage extends Message {
 	
 	private final Object[] args;
+	@Nullable
+	private CompiledFormat format;
 	
 	/**
 	 * @param key
@@ -36,12 +39,19 @@ public final class FormattedMessage extends Message {
 		assert args.length > 0;
 		this.args = args;
 	}
+
+	@Override
+	protected void onValueChange() {
+		String value = getValue();
+		format = value == null ? null : CompiledFormat.compile(value);
+	}
 	
 	@Override
 	public String toString() {
 		try {
-			String val = getValue();
-			return val == null ? key : "" + String.format(val, args);
+			validate();
+			CompiledFormat format = this.format;
+			return format == null ? key : format.format(args);
 		} catch (final IllegalFormatException e) {
 			String m = "The formatted message '" + key + "' uses an illegal format: " + e.getLocalizedMessage();
 			Skript.adminBroadcast("<red>" + m);
@@ -58,24 +58,50 @@ public class Language {
 
 	private static final HashMap<Plugin, Version> langVersion = new HashMap<Plugin, Version>();
 
+	/**
+	 * All entries of the default and the localized language, merged into one map when a language is loaded,
+	 *  so that looking up a message only needs a single lookup. Never modified once created.
+	 */
+	private static volatile Map<String, String> entries = Collections.emptyMap();
+
+	/**
+	 * Incremented every time a language is loaded, used by {@link Message}s to tell whether their value is outdated.
+	 */
+	private static volatile int generation;
+
 	public static String getName() {
 		return name;
 	}
 	
 	@Nullable
 	private static String get_i(String key) {
-		String value;
-		if ((value = defaultLanguage.get(key)) != null) {
-			return value;
-		}
+		String value = entries.get(key);
+		if (value == null && Skript.testing())
+			missingEntryError(key);
+		return value;
+	}
 
-		if (localizedLanguage != null && (value = localizedLanguage.get(key)) != null) {
-			return value;
-		}
+	/**
+	 * @return A number that changes every time a language is loaded.
+	 */
+	static int getGeneration() {
+		return generation;
+	}
 
-		if (Skript.testing())
-			missingEntryError(key);
-		return null;
+	/**
+	 * Merges the default and the localized language into {@link #entries}, with the default language taking precedence,
+	 *  notifies all listeners and invalidates all messages.
+	 */
+	private static void onLanguageChange() {
+		HashMap<String, String> merged = new HashMap<String, String>(localizedLanguage == null ? Collections.<String, String>emptyMap() : localizedLanguage);
+		merged.putAll(defaultLanguage);
+		entries = Collections.unmodifiableMap(merged);
+
+		for (LanguageChangeListener l : listeners)
+			l.onLanguageChange();
+
+		// only now, so that messages validated from now on see what the listeners changed (e.g. the articles of nouns)
+		generation++;
 	}
 	
 	/**
@@ -86,8 +112,9 @@ public class Language {
 	 * @return The requested message if it exists or the key otherwise
 	 */
 	public static String get(String key) {
-		String s = get_i(key.toLowerCase(Locale.ENGLISH));
-		return s == null ? key.toLowerCase(Locale.ENGLISH) : s;
+		key = key.toLowerCase(Locale.ENGLISH);
+		String s = get_i(key);
+		return s == null ? key : s;
 	}
 	
 	/**
@@ -157,8 +184,7 @@ public class Language {
 	 * @return Whether the given key exists in any loaded language file.
 	 */
 	public static boolean keyExists(String key) {
-		key = key.toLowerCase(Locale.ENGLISH);
-		return defaultLanguage.containsKey(key) || (localizedLanguage != null && localizedLanguage.containsKey(key));
+		return entries.containsKey(key.toLowerCase(Locale.ENGLISH));
 	}
 
 	/**
@@ -205,8 +231,7 @@ public class Language {
 			localizedLanguage = new HashMap<String, String>();
 		localizedLanguage.putAll(en);
 
-		for (LanguageChangeListener l : listeners)
-			l.onLanguageChange();
+		onLanguageChange();
 	}
 	
 	public static boolean load(String name) {
@@ -228,8 +253,7 @@ public class Language {
 
 		Language.name = name;
 
-		for (LanguageChangeListener l : listeners)
-			l.onLanguageChange();
+		onLanguageChange();
 
 		return true;
 	}
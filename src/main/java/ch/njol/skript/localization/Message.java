@@ -37,12 +37,10 @@ public class Message {
 	private static boolean firstChange = true;
 	static {
 		Language.addListener(() -> {
-			for (final Message m : messages) {
-				synchronized (m) {
-					m.revalidate = true;
-				}
-				if (firstChange && Skript.testing() && !Language.keyExists(m.key)) {
-					Language.missingEntryError(m.key);
+			if (firstChange && Skript.testing()) {
+				for (final Message m : messages) {
+					if (!Language.keyExists(m.key))
+						Language.missingEntryError(m.key);
 				}
 			}
 			firstChange = false;
@@ -52,7 +50,14 @@ public class Message {
 	public final String key;
 	@Nullable
 	private String value;
-	boolean revalidate = true;
+
+	/**
+	 * The {@link Language#getGeneration() language generation} {@link #value} was loaded in.
+	 * Written after the value and everything derived from it in {@link #onValueChange()},
+	 *  so that a thread that reads the current generation here also sees the values belonging to it without locking.
+	 */
+	private volatile int validGeneration = -1;
+	private boolean validating;
 
 	public Message(final String key) {
 		this.key = key.toLowerCase(Locale.ENGLISH);
@@ -105,12 +110,23 @@ public class Message {
 	
 	/**
 	 * Checks whether this message's value has changed and calls {@link #onValueChange()} if neccessary.
+	 * Once the value is up to date, this does not lock.
 	 */
-	protected synchronized void validate() {
-		if (revalidate) {
-			revalidate = false;
-			value = Language.get_(key);
-			onValueChange();
+	protected void validate() {
+		if (validGeneration == Language.getGeneration())
+			return;
+		synchronized (this) {
+			int generation = Language.getGeneration();
+			if (validating || validGeneration == generation)
+				return; // called from onValueChange(), or another thread validated this message already
+			validating = true;
+			try {
+				value = Language.get_(key);
+				onValueChange();
+			} finally {
+				validating = false;
+			}
+			validGeneration = generation;
 		}
 	}
 	
@@ -39,10 +39,19 @@ public class Noun extends Message {
 	// TODO remove NO_GENDER and add boolean/flag uncountable (e.g. Luft: 'die Luft', aber nicht 'eine Luft')
 	public static final int PLURAL = -2, NO_GENDER = -3; // -1 is sometimes used as 'not set'
 	public static final String PLURAL_TOKEN = "x", NO_GENDER_TOKEN = "-";
+
+	private static final int ALL_FLAGS = Language.F_PLURAL | Language.F_DEFINITE_ARTICLE | Language.F_INDEFINITE_ARTICLE;
 	
 	@Nullable
 	private String singular, plural;
 	private int gender = 0;
+
+	/**
+	 * This noun with each combination of the {@link Language#F_PLURAL plural} and article flags, indexed by the flags.
+	 * Null if this noun's value doesn't exist.
+	 */
+	@Nullable
+	private String[] forms;
 	
 	public Noun(String key) {
 		super(key);
@@ -54,6 +63,7 @@ public class Noun extends Message {
 		if (value == null) {
 			plural = singular = key;
 			gender = 0;
+			forms = null;
 			return;
 		}
 		int g = value.lastIndexOf('@');
@@ -68,6 +78,11 @@ public class Noun extends Message {
 		plural = p.getSecond();
 		if (gender == PLURAL && !Objects.equals(singular, plural))
 			Skript.warning("Noun '" + key + "' is of gender 'plural', but has different singular and plural values.");
+
+		String[] forms = new String[ALL_FLAGS + 1];
+		for (int flags = 0; flags <= ALL_FLAGS; flags++)
+			forms[flags] = toString(singular, plural, gender, flags);
+		this.forms = forms;
 	}
 	
 	@Override
@@ -146,9 +161,10 @@ public class Noun extends Message {
 	
 	public String toString(int flags) {
 		validate();
-		String b = getArticleWithSpace(flags) +
-			((flags & Language.F_PLURAL) != 0 ? plural : singular);
-		return String.valueOf(b);
+		String[] forms = this.forms;
+		if (forms != null && (flags & ~ALL_FLAGS) == 0)
+			return forms[flags];
+		return getArticleWithSpace(gender, flags) + ((flags & Language.F_PLURAL) != 0 ? plural : singular);
 	}
 	
 	public String withAmount(double amount) {
@@ -19,6 +19,7 @@
 package ch.njol.skript.localization;
 
 import ch.njol.util.StringUtils;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * An {@link ArgsMessage} that pluralises words following numbers. The plurals have to be in the format <tt>shel¦f¦ves¦</tt> (i.e. use 3 '¦'s).
@@ -27,15 +28,25 @@ import ch.njol.util.StringUtils;
  */
 public class PluralizingArgsMessage extends Message {
 	
+	@Nullable
+	private CompiledFormat format;
+
 	public PluralizingArgsMessage(String key) {
 		super(key);
 	}
+
+	@Override
+	protected void onValueChange() {
+		String value = getValue();
+		format = value == null ? null : CompiledFormat.compile(value);
+	}
 	
 	public String toString(Object... args) {
-		String val = getValue();
-		if (val == null)
+		validate();
+		CompiledFormat format = this.format;
+		if (format == null)
 			return key;
-		return format("" + String.format(val, args));
+		return format(format.format(args));
 	}
 	
 	public static String format(String s) {
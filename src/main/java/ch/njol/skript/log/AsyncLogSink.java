@@ -0,0 +1,286 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.log;
+
+import java.io.Closeable;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Writes console lines on a separate thread, so that logging from triggers never waits for the console.
+ * <br>
+ * Lines are kept in a bounded ring buffer and written in batches by a single daemon thread, in the order they were added.
+ * If the buffer is full, new lines are dropped according to the sink's {@link OverflowPolicy}.
+ * Closing the sink writes all remaining lines on the closing thread, once the writer thread has stopped.
+ *
+ * @see SkriptLogger#setAsyncSink(AsyncLogSink)
+ */
+public final class AsyncLogSink implements Closeable {
+
+	/**
+	 * What to do with lines that don't fit into the buffer.
+	 */
+	public enum OverflowPolicy {
+		/**
+		 * Drops the line. The dropped lines are only counted.
+		 */
+		DROP,
+		/**
+		 * Drops the line, and writes a line stating how many lines were dropped once there is space again.
+		 */
+		SUMMARIZE
+	}
+
+	/**
+	 * The maximum amount of lines written per batch, so that the lock isn't held back by a single huge batch.
+	 */
+	private static final int MAX_BATCH_SIZE = 256;
+
+	private final String[] buffer;
+	private final Consumer<String> writer;
+	private final OverflowPolicy overflowPolicy;
+
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition notEmpty = lock.newCondition();
+
+	/**
+	 * Guarded by {@link #lock}.
+	 */
+	private int head, size;
+	private long unreportedDrops;
+	private boolean closed;
+
+	private final AtomicLong queued = new AtomicLong(), written = new AtomicLong(), dropped = new AtomicLong();
+
+	private final Thread thread;
+
+	/**
+	 * Creates and starts a sink.
+	 * @param capacity The maximum amount of lines waiting to be written.
+	 * @param overflowPolicy What to do with lines that are added while the buffer is full.
+	 * @param writer Writes a single line. Called by the writer thread, and by the thread closing the sink.
+	 */
+	public AsyncLogSink(int capacity, OverflowPolicy overflowPolicy, Consumer<String> writer) {
+		if (capacity <= 0)
+			throw new IllegalArgumentException("capacity must be positive: " + capacity);
+		this.buffer = new String[capacity];
+		this.overflowPolicy = overflowPolicy;
+		this.writer = writer;
+		Thread thread = new Thread(this::run, "Skript async log writer");
+		thread.setDaemon(true);
+		this.thread = thread;
+		thread.start();
+	}
+
+	/**
+	 * Adds a line to be written. Never blocks on the output.
+	 * @return Whether the line was accepted, i.e. the buffer wasn't full and the sink isn't closed.
+	 */
+	public boolean offer(String line) {
+		lock.lock();
+		try {
+			if (closed || size == buffer.length) {
+				dropped.incrementAndGet();
+				unreportedDrops++;
+				return false;
+			}
+			buffer[(head + size) % buffer.length] = line;
+			size++;
+			queued.incrementAndGet();
+			if (size == 1)
+				notEmpty.signal();
+			return true;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * @return The maximum amount of lines waiting to be written.
+	 */
+	public int getCapacity() {
+		return buffer.length;
+	}
+
+	public OverflowPolicy getOverflowPolicy() {
+		return overflowPolicy;
+	}
+
+	/**
+	 * @return The amount of lines that were accepted by {@link #offer(String)}.
+	 */
+	public long getQueued() {
+		return queued.get();
+	}
+
+	/**
+	 * @return The amount of accepted lines that have been written.
+	 */
+	public long getWritten() {
+		return written.get();
+	}
+
+	/**
+	 * @return The amount of lines that were dropped because the buffer was full.
+	 */
+	public long getDropped() {
+		return dropped.get();
+	}
+
+	/**
+	 * @return The amount of lines currently waiting to be written.
+	 */
+	public int getPending() {
+		lock.lock();
+		try {
+			return size;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private void run() {
+		String[] batch = new String[Math.min(MAX_BATCH_SIZE, buffer.length)];
+		while (true) {
+			int count;
+			long drops;
+			lock.lock();
+			try {
+				while (size == 0 && !closed) {
+					try {
+						notEmpty.await(1, TimeUnit.SECONDS);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						return;
+					}
+				}
+				if (closed)
+					return; // the remaining lines are written by close()
+				count = take(batch);
+				drops = takeDrops();
+			} finally {
+				lock.unlock();
+			}
+			write(batch, count, drops);
+		}
+	}
+
+	/**
+	 * Moves up to {@code batch.length} lines from the buffer into the batch. Must hold {@link #lock}.
+	 * @return The amount of lines moved.
+	 */
+	private int take(String[] batch) {
+		int count = Math.min(size, batch.length);
+		for (int i = 0; i < count; i++) {
+			batch[i] = buffer[head];
+			buffer[head] = null;
+			head = (head + 1) % buffer.length;
+		}
+		size -= count;
+		return count;
+	}
+
+	/**
+	 * Must hold {@link #lock}.
+	 * @return The amount of drops that should be reported now.
+	 */
+	private long takeDrops() {
+		if (overflowPolicy != OverflowPolicy.SUMMARIZE)
+			return 0;
+		long drops = unreportedDrops;
+		unreportedDrops = 0;
+		return drops;
+	}
+
+	private void write(String[] batch, int count, long drops) {
+		for (int i = 0; i < count; i++) {
+			try {
+				writer.accept(batch[i]);
+			} catch (RuntimeException e) {
+				e.printStackTrace();
+			}
+			batch[i] = null;
+		}
+		written.addAndGet(count);
+		if (drops > 0) {
+			try {
+				writer.accept(String.format(Locale.ENGLISH, "[Skript] %d log message%s dropped because the console could not keep up",
+					drops, drops == 1 ? " was" : "s were"));
+			} catch (RuntimeException e) {
+				e.printStackTrace();
+			}
+		}
+	}
+
+	/**
+	 * Stops the writer thread and writes all remaining lines on the calling thread.
+	 * If the writer thread doesn't stop within 5 seconds, e.g. because writing to the console blocks,
+	 *  the remaining lines are dropped instead, as they would otherwise be written concurrently and out of order.
+	 * Lines offered afterwards are dropped.
+	 */
+	@Override
+	public void close() {
+		lock.lock();
+		try {
+			if (closed)
+				return;
+			closed = true;
+			notEmpty.signal();
+		} finally {
+			lock.unlock();
+		}
+		if (thread != Thread.currentThread()) {
+			try {
+				thread.join(TimeUnit.SECONDS.toMillis(5));
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			if (thread.isAlive()) {
+				lock.lock();
+				try {
+					dropped.addAndGet(size);
+				} finally {
+					lock.unlock();
+				}
+				return;
+			}
+		}
+		String[] batch = new String[buffer.length];
+		int count;
+		long drops;
+		lock.lock();
+		try {
+			count = take(batch);
+			drops = takeDrops();
+		} finally {
+			lock.unlock();
+		}
+		write(batch, count, drops);
+	}
+
+	@Override
+	public String toString() {
+		return "async log sink (" + getQueued() + " queued, " + getWritten() + " written, " + getDropped() + " dropped, " + getPending() + " pending)";
+	}
+
+}
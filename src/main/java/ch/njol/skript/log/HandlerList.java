@@ -20,15 +20,25 @@ package ch.njol.skript.log;
 
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayDeque;
 import java.util.Iterator;
-import java.util.LinkedList;
 
 /**
  * @author Peter Güttinger
  */
 public class HandlerList implements Iterable<LogHandler> {
 	
-	private final LinkedList<LogHandler> list = new LinkedList<LogHandler>();
+	/**
+	 * The maximum amount of released parse log handlers kept for reuse.
+	 */
+	private static final int MAX_POOLED_HANDLERS = 32;
+	
+	private final ArrayDeque<LogHandler> list = new ArrayDeque<LogHandler>();
+	
+	/**
+	 * Parse log handlers that have been {@link ParseLogHandler#release() released} and can be reused.
+	 */
+	private final ArrayDeque<ParseLogHandler> pool = new ArrayDeque<ParseLogHandler>();
 	
 	public void add(LogHandler h) {
 		list.addFirst(h);
@@ -39,6 +49,16 @@ public class HandlerList implements Iterable<LogHandler> {
 		return list.pop();
 	}
 	
+	@Nullable
+	ParseLogHandler pollPooledHandler() {
+		return pool.poll();
+	}
+	
+	void addPooledHandler(ParseLogHandler h) {
+		if (pool.size() < MAX_POOLED_HANDLERS)
+			pool.push(h);
+	}
+	
 	@SuppressWarnings("null")
 	@Override
 	public Iterator<LogHandler> iterator() {
@@ -29,19 +29,40 @@ import org.apache.logging.log4j.Level;
 import org.jetbrains.annotations.Nullable;
 import dev.ultreon.baseskript.ChatColor;
 
+import java.lang.ref.Cleaner;
+
 public class LogEntry {
 
 	public final Level level;
 	public final int quality;
 
-	public final String message;
+	/**
+	 * The message as it was logged. It is only formatted once it is needed, see {@link #getMessage()},
+	 *  as most entries created while parsing are discarded without ever being printed.
+	 */
+	private final String rawMessage;
+	@Nullable
+	private String message;
 
 	@Nullable
 	public final Node node;
 
-	private final String from;
+	/**
+	 * Captures the stack of whoever created this entry if it is tracked or Skript is in debug mode.
+	 * The caller is only looked up in it if it is printed, see {@link #getFrom()}.
+	 */
+	@Nullable
+	private final Throwable caller;
+	@Nullable
+	private String from;
 	private final boolean tracked;
 
+	/**
+	 * Whether this entry was logged or discarded, only checked if assertions are enabled.
+	 */
+	@Nullable
+	private final Usage usage;
+
 	private static final String CONFIG_NODE = "skript command.reload";
 	private static final ArgsMessage WARNING_LINE_INFO = new ArgsMessage(CONFIG_NODE + ".warning line info");
 	private static final ArgsMessage ERROR_LINE_INFO = new ArgsMessage(CONFIG_NODE + ".error line info");
@@ -74,21 +95,30 @@ public class LogEntry {
 		this(level, quality, message, node, false);
 	}
 
+	@SuppressWarnings("this-escape") // the cleaner only keeps a phantom reference to this entry, it never uses it
 	public LogEntry(Level level, int quality, String message, @Nullable Node node, boolean tracked) {
 		this.level = level;
 		this.quality = quality;
-		this.message = String.join("\n", ChatMessages.parse(message).stream().map((MessageComponent messageComponent) -> {
-			return messageComponent.toString();
-		}).toList());
+		this.rawMessage = message;
 		this.node = node;
 		this.tracked = tracked;
-		from = tracked || Skript.debug() ? findCaller() : "";
+		caller = tracked || Skript.debug() ? new Exception() : null;
+		if (ASSERTIONS) {
+			usage = new Usage(rawMessage);
+			CLEANER.register(this, usage);
+		} else {
+			usage = null;
+		}
 	}
 
 	private static final String skriptLogPackageName = SkriptLogger.class.getPackage().getName();
 
 	static String findCaller() {
-		StackTraceElement[] es = new Exception().getStackTrace();
+		return findCaller(new Exception());
+	}
+
+	private static String findCaller(Throwable caller) {
+		StackTraceElement[] es = caller.getStackTrace();
 		for (int i = 0; i < es.length; i++) {
 			if (!es[i].getClassName().startsWith(skriptLogPackageName))
 				continue;
@@ -110,38 +140,53 @@ public class LogEntry {
 	}
 
 	public String getMessage() {
+		String message = this.message;
+		if (message == null) {
+			message = String.join("\n", ChatMessages.parse(rawMessage).stream().map((MessageComponent messageComponent) -> {
+				return messageComponent.toString();
+			}).toList());
+			this.message = message;
+		}
 		return message;
 	}
 
-	private boolean used;
+	/**
+	 * @return Where this entry was created from, or an empty string if that wasn't recorded.
+	 */
+	private String getFrom() {
+		String from = this.from;
+		if (from == null) {
+			from = caller == null ? "" : findCaller(caller);
+			this.from = from;
+		}
+		return from;
+	}
 
 	void discarded(String info) {
-		used = true;
+		if (usage != null)
+			usage.used = true;
 		if (tracked)
-			SkriptLogger.LOGGER.warn(" # LogEntry '" + message + "'" + from + " discarded" + findCaller() + "; " + (new Exception()).getStackTrace()[1] + "; " + info);
+			SkriptLogger.LOGGER.warn(" # LogEntry '" + getMessage() + "'" + getFrom() + " discarded" + findCaller() + "; " + (new Exception()).getStackTrace()[1] + "; " + info);
 	}
 
 	void logged() {
-		used = true;
+		if (usage != null)
+			usage.used = true;
 		if (tracked)
-			SkriptLogger.LOGGER.warn(" # LogEntry '" + message + "'" + from + " logged" + findCaller());
-	}
-
-	@Override
-	protected void finalize() {
-		assert used : message + from;
+			SkriptLogger.LOGGER.warn(" # LogEntry '" + getMessage() + "'" + getFrom() + " logged" + findCaller());
 	}
 
 	@Override
 	public String toString() {
 		if (node == null || level.intLevel() < Level.WARN.intLevel())
-			return message;
+			return getMessage();
 
 		Config c = node.getConfig();
-		return message + from + " (" + c.getFileName() + ", line " + node.getLine() + ": " + node.save().trim() + "')";
+		return getMessage() + getFrom() + " (" + c.getFileName() + ", line " + node.getLine() + ": " + node.save().trim() + "')";
 	}
 
 	public String toFormattedString() {
+		String message = getMessage();
 		if (level.intLevel() < Level.WARN.intLevel())
 			return message;
 
@@ -165,7 +210,7 @@ public class LogEntry {
 			return String.format(detailsMsg.replaceAll("^\\s+", ""), message); // Remove line beginning spaces
 
 		Config c = node.getConfig();
-		String from = this.from;
+		String from = getFrom();
 
 		if (!from.isEmpty())
 			from = ChatColor.GRAY + "   " + from + "\n";
@@ -180,4 +225,29 @@ public class LogEntry {
 		return s.replaceAll("\\\\n", "\n");
 	}
 
+	private static final boolean ASSERTIONS = LogEntry.class.desiredAssertionStatus();
+
+	/**
+	 * Checks that entries are either logged or discarded once they are unreachable.
+	 * This replaces a finalizer, which made every entry expensive to create and collect even without assertions.
+	 */
+	@Nullable
+	private static final Cleaner CLEANER = ASSERTIONS ? Cleaner.create() : null;
+
+	private static final class Usage implements Runnable {
+
+		private final String message;
+		private volatile boolean used;
+
+		private Usage(String message) {
+			this.message = message;
+		}
+
+		@Override
+		public void run() {
+			assert used : message;
+		}
+
+	}
+
 }
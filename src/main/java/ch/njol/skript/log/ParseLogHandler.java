@@ -88,6 +88,25 @@ public class ParseLogHandler extends LogHandler {
 		log.clear();
 	}
 
+	/**
+	 * Internal method for reusing handlers.
+	 * Stops this handler and allows {@link SkriptLogger#startParseLogHandler()} to reuse it,
+	 *  so it must not be used anymore by the caller.
+	 */
+	@ApiStatus.Internal
+	public void release() {
+		stop();
+		if (printedErrorOrLog) { // all entries have been logged or discarded already
+			error = null;
+			log.clear();
+		} else {
+			clear();
+			clearError();
+		}
+		printedErrorOrLog = false;
+		SkriptLogger.getHandlers().addPooledHandler(this);
+	}
+
 	public void clearError() {
 		if (error != null)
 			error.discarded("cleared");
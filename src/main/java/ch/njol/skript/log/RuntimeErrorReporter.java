@@ -0,0 +1,336 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.log;
+
+import ch.njol.skript.Skript;
+import ch.njol.skript.SkriptConfig;
+import ch.njol.skript.lang.Trigger;
+import ch.njol.skript.lang.TriggerItem;
+import ch.njol.skript.util.Task;
+import ch.njol.skript.util.Timespan;
+import org.jetbrains.annotations.Nullable;
+import org.skriptlang.skript.lang.script.Script;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reports exceptions thrown while executing triggers, without flooding the console when the same error keeps happening.
+ * <br>
+ * Errors are grouped by the trigger item that threw them and the type of the exception.
+ * The first error of a group is reported in full using {@link Skript#exception(Throwable, TriggerItem, String...)}.
+ * Further errors of that group are only counted, and the count is logged at most once per
+ *  {@link SkriptConfig#runtimeErrorReportInterval}. Counts are also logged when no further error occurs,
+ *  by a task that runs once the interval has passed, and when the errors of a group are forgotten.
+ * <br>
+ * The most recent errors are kept in memory and can be retrieved using {@link #getRecentErrors()}.
+ * The errors of a script are forgotten when it is unloaded, see {@link #forget(Collection)}.
+ */
+public final class RuntimeErrorReporter {
+
+	private RuntimeErrorReporter() {}
+
+	/**
+	 * The maximum amount of groups that are tracked at once. When exceeded, all groups are forgotten.
+	 */
+	private static final int MAX_GROUPS = 1024;
+
+	/**
+	 * The amount of errors kept by {@link #getRecentErrors()}.
+	 */
+	private static final int RECENT_ERRORS = 64;
+
+	private static final Map<Key, Group> groups = new ConcurrentHashMap<Key, Group>();
+
+	/**
+	 * Whether a task is scheduled to log the counts of suppressed errors, see {@link #scheduleFlush(long)}.
+	 */
+	private static final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+	private static final RuntimeError[] recentErrors = new RuntimeError[RECENT_ERRORS];
+	private static int recentErrorsHead, recentErrorsSize;
+
+	/**
+	 * Reports an exception thrown while executing a trigger.
+	 * @param exception The exception that was thrown.
+	 * @param item The trigger item that was executing when the exception was thrown.
+	 */
+	public static void report(Exception exception, @Nullable TriggerItem item) {
+		long now = System.currentTimeMillis();
+		addRecentError(new RuntimeError(now, item, exception));
+
+		long interval = SkriptConfig.runtimeErrorReportInterval.value().getMilliSeconds();
+		if (interval <= 0) {
+			Skript.exception(exception, item);
+			return;
+		}
+
+		Key key = new Key(item, exception.getClass());
+		Group group = groups.get(key);
+		if (group == null) {
+			if (groups.size() >= MAX_GROUPS)
+				flushAndRemove(groups.keySet());
+			Group created = new Group(now);
+			group = groups.putIfAbsent(key, created);
+			if (group == null) { // first error of this group
+				Skript.exception(exception, item);
+				return;
+			}
+		}
+
+		Skript.markErrored();
+		group.lastMessage = exception.getMessage();
+		group.suppressed.incrementAndGet();
+		if (!flush(key, group, now, interval))
+			scheduleFlush(interval);
+	}
+
+	/**
+	 * Logs the amount of suppressed errors of a group if the report interval has passed since it was last reported.
+	 * @return Whether no errors of the group are left to be logged later.
+	 */
+	private static boolean flush(Key key, Group group, long now, long interval) {
+		long lastReport = group.lastReport.get();
+		if (now - lastReport < interval)
+			return group.suppressed.get() == 0;
+		if (!group.lastReport.compareAndSet(lastReport, now))
+			return true; // another thread is logging it
+		long suppressed = group.suppressed.getAndSet(0);
+		if (suppressed != 0) {
+			Skript.error("The error " + key.type.getName() + " " + describe(key.item) + " occurred " + suppressed
+				+ " more time" + (suppressed == 1 ? "" : "s") + " in the last " + new Timespan(now - lastReport)
+				+ " (last message: " + group.lastMessage + ")");
+		}
+		return true;
+	}
+
+	/**
+	 * Schedules a task to log the suppressed errors of all groups once the given interval has passed,
+	 *  so that errors that stop occurring are still counted. Does nothing if such a task is already scheduled.
+	 */
+	private static void scheduleFlush(long interval) {
+		if (!flushScheduled.compareAndSet(false, true))
+			return;
+		Skript skript = Skript.getInstance();
+		if (!skript.isEnabled()) {
+			flushScheduled.set(false);
+			return;
+		}
+		new Task(skript, Math.max(1, new Timespan(interval).getTicks()), true) {
+			@Override
+			public void run() {
+				flushScheduled.set(false);
+				long interval = SkriptConfig.runtimeErrorReportInterval.value().getMilliSeconds();
+				long now = System.currentTimeMillis();
+				boolean pending = false;
+				for (Map.Entry<Key, Group> entry : groups.entrySet()) {
+					if (!flush(entry.getKey(), entry.getValue(), now, Math.max(0, interval)))
+						pending = true;
+				}
+				if (pending)
+					scheduleFlush(interval);
+			}
+		};
+	}
+
+	/**
+	 * Logs the suppressed errors of the given groups regardless of the report interval, and removes the groups.
+	 */
+	private static void flushAndRemove(Collection<Key> keys) {
+		long now = System.currentTimeMillis();
+		for (Key key : new ArrayList<Key>(keys)) {
+			Group group = groups.remove(key);
+			if (group != null)
+				flush(key, group, now, 0);
+		}
+	}
+
+	/**
+	 * @return The most recent runtime errors, oldest first.
+	 */
+	public static List<RuntimeError> getRecentErrors() {
+		synchronized (recentErrors) {
+			List<RuntimeError> errors = new ArrayList<RuntimeError>(recentErrorsSize);
+			for (int i = 0; i < recentErrorsSize; i++)
+				errors.add(recentErrors[(recentErrorsHead + i) % RECENT_ERRORS]);
+			return errors;
+		}
+	}
+
+	/**
+	 * Forgets all errors, so that the next error of every group is reported in full again.
+	 */
+	public static void reset() {
+		flushAndRemove(groups.keySet());
+		synchronized (recentErrors) {
+			for (int i = 0; i < RECENT_ERRORS; i++)
+				recentErrors[i] = null;
+			recentErrorsHead = 0;
+			recentErrorsSize = 0;
+		}
+	}
+
+	/**
+	 * Forgets the errors of the triggers of the given scripts, so that they don't keep the unloaded triggers in memory.
+	 * @param scripts The scripts that are being unloaded.
+	 */
+	public static void forget(Collection<Script> scripts) {
+		List<Key> keys = new ArrayList<Key>();
+		for (Key key : groups.keySet()) {
+			if (isOf(key.item, scripts))
+				keys.add(key);
+		}
+		flushAndRemove(keys);
+		synchronized (recentErrors) {
+			List<RuntimeError> kept = new ArrayList<RuntimeError>(recentErrorsSize);
+			for (int i = 0; i < recentErrorsSize; i++) {
+				RuntimeError error = recentErrors[(recentErrorsHead + i) % RECENT_ERRORS];
+				if (!isOf(error.item, scripts))
+					kept.add(error);
+			}
+			for (int i = 0; i < RECENT_ERRORS; i++)
+				recentErrors[i] = i < kept.size() ? kept.get(i) : null;
+			recentErrorsHead = 0;
+			recentErrorsSize = kept.size();
+		}
+	}
+
+	private static boolean isOf(@Nullable TriggerItem item, Collection<Script> scripts) {
+		Trigger trigger = item == null ? null : item.getTrigger();
+		Script script = trigger == null ? null : trigger.getScript();
+		return script != null && scripts.contains(script);
+	}
+
+	private static void addRecentError(RuntimeError error) {
+		synchronized (recentErrors) {
+			if (recentErrorsSize < RECENT_ERRORS) {
+				recentErrors[(recentErrorsHead + recentErrorsSize) % RECENT_ERRORS] = error;
+				recentErrorsSize++;
+			} else {
+				recentErrors[recentErrorsHead] = error;
+				recentErrorsHead = (recentErrorsHead + 1) % RECENT_ERRORS;
+			}
+		}
+	}
+
+	private static String describe(@Nullable TriggerItem item) {
+		if (item == null)
+			return "in an unknown trigger";
+		Trigger trigger = item.getTrigger();
+		if (trigger == null)
+			return "in '" + item.toString(null, false) + "'";
+		Script script = trigger.getScript();
+		return "in '" + item.toString(null, false) + "' (" + (script == null ? "unknown script" : script.getConfig().getFileName())
+			+ ", trigger at line " + trigger.getLineNumber() + ")";
+	}
+
+	/**
+	 * An exception that was thrown while executing a trigger.
+	 */
+	public static final class RuntimeError {
+
+		private final long time;
+		@Nullable
+		private final TriggerItem item;
+		private final Exception exception;
+
+		private RuntimeError(long time, @Nullable TriggerItem item, Exception exception) {
+			this.time = time;
+			this.item = item;
+			this.exception = exception;
+		}
+
+		/**
+		 * @return When the error occurred, in milliseconds since the epoch.
+		 */
+		public long getTime() {
+			return time;
+		}
+
+		/**
+		 * @return The trigger item that was executing when the error occurred, or null if it is unknown.
+		 */
+		@Nullable
+		public TriggerItem getItem() {
+			return item;
+		}
+
+		@Nullable
+		public Trigger getTrigger() {
+			return item == null ? null : item.getTrigger();
+		}
+
+		public Exception getException() {
+			return exception;
+		}
+
+		@Override
+		public String toString() {
+			return exception + " " + describe(item);
+		}
+
+	}
+
+	private static final class Key {
+
+		@Nullable
+		private final TriggerItem item;
+		private final Class<?> type;
+
+		private Key(@Nullable TriggerItem item, Class<?> type) {
+			this.item = item;
+			this.type = type;
+		}
+
+		@Override
+		public boolean equals(Object object) {
+			if (this == object)
+				return true;
+			if (!(object instanceof Key))
+				return false;
+			Key other = (Key) object;
+			return item == other.item && type == other.type;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * System.identityHashCode(item) + type.hashCode();
+		}
+
+	}
+
+	private static final class Group {
+
+		private final AtomicLong lastReport;
+		private final AtomicLong suppressed = new AtomicLong();
+		@Nullable
+		private volatile String lastMessage;
+
+		private Group(long firstReport) {
+			this.lastReport = new AtomicLong(firstReport);
+		}
+
+	}
+
+}
@@ -48,8 +48,11 @@ public abstract class SkriptLogger {
 
 	@SuppressWarnings("null")
 	public final static Logger LOGGER = LogManager.getLogger("Skript"); // cannot use Bukkit in tests
+
+	@Nullable
+	private static volatile AsyncLogSink asyncSink;
 	
-	private static HandlerList getHandlers() {
+	static HandlerList getHandlers() {
 		return ParserInstance.get().getHandlers();
 	}
 	
@@ -64,11 +67,15 @@ public abstract class SkriptLogger {
 	
 	/**
 	 * Shorthand for <tt>{@link #startLogHandler(LogHandler) startLogHandler}(new {@link ParseLogHandler}());</tt>
+	 * Reuses a handler that was {@link ParseLogHandler#release() released} on this thread if there is one.
 	 * 
-	 * @return A newly created ParseLogHandler
+	 * @return A new or reset ParseLogHandler
 	 */
 	public static ParseLogHandler startParseLogHandler() {
-		return new ParseLogHandler().start();
+		ParseLogHandler handler = getHandlers().pollPooledHandler();
+		if (handler == null)
+			handler = new ParseLogHandler();
+		return handler.start();
 	}
 	
 	/**
@@ -124,6 +131,26 @@ public abstract class SkriptLogger {
 		return null;
 	}
 	
+	/**
+	 * Sets the sink that console messages are written through, closing the previous one.
+	 * 
+	 * @param sink The new sink, or null to write console messages on the logging thread.
+	 */
+	public static void setAsyncSink(@Nullable AsyncLogSink sink) {
+		AsyncLogSink previous;
+		synchronized (SkriptLogger.class) {
+			previous = asyncSink;
+			asyncSink = sink;
+		}
+		if (previous != null)
+			previous.close();
+	}
+	
+	@Nullable
+	public static AsyncLogSink getAsyncSink() {
+		return asyncSink;
+	}
+	
 	public static void setVerbosity(Verbosity v) {
 		verbosity = v;
 		debug = v.compareTo(Verbosity.DEBUG) >= 0;
@@ -182,7 +209,13 @@ public abstract class SkriptLogger {
 			}
 		}
 		entry.logged();
-		sendFormatted(BaseSkript.getConsoleSender(), "[Skript] " + entry.toFormattedString());
+		String message = "[Skript] " + entry.toFormattedString();
+		AsyncLogSink sink = asyncSink;
+		if (sink != null) {
+			sink.offer(message);
+		} else {
+			sendFormatted(BaseSkript.getConsoleSender(), message);
+		}
 	}
 	
 	public static void logAll(Collection<LogEntry> entries) {
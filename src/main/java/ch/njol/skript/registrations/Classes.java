@@ -22,6 +22,7 @@ import ch.njol.skript.Skript;
 import ch.njol.skript.SkriptAPIException;
 import ch.njol.skript.SkriptConfig;
 import ch.njol.skript.classes.ClassInfo;
+import ch.njol.skript.classes.Codec;
 import ch.njol.skript.classes.Parser;
 import ch.njol.skript.classes.Serializer;
 import ch.njol.skript.lang.DefaultExpression;
@@ -43,6 +44,7 @@ import dev.ultreon.baseskript.ChatColor;
 
 import java.io.*;
 import java.lang.reflect.Array;
+import java.lang.reflect.Modifier;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
@@ -59,8 +61,29 @@ public abstract class Classes {
 	private static ClassInfo<?>[] classInfos = null;
 	private final static List<ClassInfo<?>> tempClassInfos = new ArrayList<ClassInfo<?>>();
 	private final static HashMap<Class<?>, ClassInfo<?>> exactClassInfos = new HashMap<Class<?>, ClassInfo<?>>();
-	private final static HashMap<Class<?>, ClassInfo<?>> superClassInfos = new HashMap<Class<?>, ClassInfo<?>>();
 	private final static HashMap<String, ClassInfo<?>> classInfosByCodeName = new HashMap<String, ClassInfo<?>>();
+
+	/**
+	 * Caches the closest registered class info of every class, see {@link #getSuperClassInfo(Class)}.
+	 * Only used once the class infos have been sorted, as they can't change after that.
+	 */
+	private final static ClassValue<ClassInfo<?>> superClassInfos = new ClassValue<ClassInfo<?>>() {
+		@Override
+		protected ClassInfo<?> computeValue(Class<?> type) {
+			return findSuperClassInfo(type);
+		}
+	};
+
+	/**
+	 * Caches the closest registered class info with a parser of every class, see {@link #toString(Object, StringMode, int)}.
+	 * Only used once the class infos have been sorted, as they can't change after that.
+	 */
+	private final static ClassValue<Optional<ClassInfo<?>>> parserClassInfos = new ClassValue<Optional<ClassInfo<?>>>() {
+		@Override
+		protected Optional<ClassInfo<?>> computeValue(Class<?> type) {
+			return Optional.ofNullable(findParserClassInfo(type));
+		}
+	};
 	
 	/**
 	 * @param info info about the class to register
@@ -278,20 +301,29 @@ public abstract class Classes {
 	public static <T> ClassInfo<? super T> getSuperClassInfo(final Class<T> c) {
 		assert c != null;
 		checkAllowClassInfoInteraction();
-		final ClassInfo<?> i = superClassInfos.get(c);
-		if (i != null)
-			return (ClassInfo<? super T>) i;
+		if (classInfos == null)
+			return (ClassInfo<? super T>) findSuperClassInfo(c);
+		return (ClassInfo<? super T>) superClassInfos.get(c);
+	}
+
+	private static ClassInfo<?> findSuperClassInfo(Class<?> c) {
 		for (final ClassInfo<?> ci : getClassInfos()) {
-			if (ci.getC().isAssignableFrom(c)) {
-				if (!Skript.isAcceptRegistrations())
-					superClassInfos.put(c, ci);
-				return (ClassInfo<? super T>) ci;
-			}
+			if (ci.getC().isAssignableFrom(c))
+				return ci;
 		}
 		assert false;
 		return null;
 	}
 
+	@Nullable
+	private static ClassInfo<?> findParserClassInfo(Class<?> c) {
+		for (final ClassInfo<?> ci : getClassInfos()) {
+			if (ci.getParser() != null && ci.getC().isAssignableFrom(c))
+				return ci;
+		}
+		return null;
+	}
+
 	/**
 	 * Gets the class info of the super type of given classes or its closest registered superclass.
 	 * This method is useful for Skript to avoid passing around "unknown" super types.
@@ -418,6 +450,28 @@ public abstract class Classes {
 		}
 	}
 	
+	/**
+	 * Checks whether {@link #clone(Object)} may return a copy for values of the given type,
+	 * i.e. whether a {@link ClassInfo} that may be used for such values has a cloner.
+	 * If this returns false, cloning values of the type can be skipped.
+	 * 
+	 * @param type The static type of the values
+	 * @return Whether values of the type may have to be cloned
+	 */
+	public static boolean mayNeedCloning(Class<?> type) {
+		if (type == Object.class || type.isArray() || type.isInterface())
+			return true;
+		boolean isFinal = Modifier.isFinal(type.getModifiers());
+		for (ClassInfo<?> ci : getClassInfos()) {
+			if (ci.getCloner() == null)
+				continue;
+			Class<?> c = ci.getC();
+			if (c.isAssignableFrom(type) || type.isAssignableFrom(c) || (c.isInterface() && !isFinal))
+				return true;
+		}
+		return false;
+	}
+	
 	/**
 	 * Gets the name a class was registered with.
 	 * 
@@ -622,15 +676,16 @@ public abstract class Classes {
 			}
 			return "[" + b + "]";
 		}
-		for (final ClassInfo<?> ci : getClassInfos()) {
+		checkAllowClassInfoInteraction();
+		final ClassInfo<?> ci = classInfos == null ? findParserClassInfo(o.getClass()) : parserClassInfos.get(o.getClass()).orElse(null);
+		if (ci != null) {
 			final Parser<?> parser = ci.getParser();
-			if (parser != null && ci.getC().isInstance(o)) {
-				@SuppressWarnings("unchecked")
-				final String s = mode == StringMode.MESSAGE ? ((Parser<T>) parser).toString(o, flags)
-						: mode == StringMode.DEBUG ? "[" + ci.getCodeName() + ":" + ((Parser<T>) parser).toString(o, mode) + "]"
-								: ((Parser<T>) parser).toString(o, mode);
-				return s;
-			}
+			assert parser != null;
+			@SuppressWarnings("unchecked")
+			final String s = mode == StringMode.MESSAGE ? ((Parser<T>) parser).toString(o, flags)
+					: mode == StringMode.DEBUG ? "[" + ci.getCodeName() + ":" + ((Parser<T>) parser).toString(o, mode) + "]"
+							: ((Parser<T>) parser).toString(o, mode);
+			return s;
 		}
 		return mode == StringMode.VARIABLE_NAME ? "object:" + o : "" + o;
 	}
@@ -704,14 +759,33 @@ public abstract class Classes {
 		
 		assert !s.mustSyncDeserialization() || BaseSkript.isPrimaryThread();
 
-        final ByteArrayOutputStream bout = new ByteArrayOutputStream();
-        final OutputStreamWriter osw = new OutputStreamWriter(bout, UTF_8);
+		@SuppressWarnings("unchecked")
+		final Codec<Object> codec = (Codec<Object>) ci.getCodec();
+		if (codec != null) {
+			final ByteArrayOutputStream bout = new ByteArrayOutputStream(16);
+			try (DataOutputStream out = new DataOutputStream(bout)) {
+				out.writeByte(CODEC_MARKER);
+				codec.write(o, out);
+			} catch (final IOException e) {
+				assert false : e;
+				return null;
+			}
+			return new SerializedVariable.Value(ci.getCodeName(), bout.toByteArray());
+		}
 
-        Gson gson = new Gson();
-        gson.toJson(o, osw);
+		return new SerializedVariable.Value(ci.getCodeName(), GSON.toJson(o).getBytes(UTF_8));
+	}
 
-        return new SerializedVariable.Value(ci.getCodeName(), bout.toByteArray());
-    }
+	/**
+	 * Shared, as Gson is thread-safe and caches the adapter of every type it has (de)serialised.
+	 */
+	private final static Gson GSON = new Gson();
+
+	/**
+	 * The first byte of values serialised using a {@link Codec}.
+	 * JSON can't start with this byte, so values saved as JSON can still be read.
+	 */
+	private final static byte CODEC_MARKER = 0;
 	
 	private static boolean equals(final @Nullable Object o, final @Nullable Object d) {
 		// Todo: UT - Equality API
@@ -720,7 +794,15 @@ public abstract class Classes {
 	
 	@Nullable
 	public static Object deserialize(final ClassInfo<?> type, final byte[] value) {
-		return deserialize(type, new ByteArrayInputStream(value));
+		final Codec<?> codec = type.getCodec();
+		if (codec != null && value.length > 0 && value[0] == CODEC_MARKER) {
+			try {
+				return codec.read(new DataInputStream(new ByteArrayInputStream(value, 1, value.length - 1)));
+			} catch (final IOException e) {
+				return null;
+			}
+		}
+		return GSON.fromJson(new String(value, UTF_8), type.getC());
 	}
 	
 	@Nullable
@@ -737,8 +819,20 @@ public abstract class Classes {
 		assert (s = type.getSerializer()) != null && (!s.mustSyncDeserialization() || BaseSkript.isPrimaryThread()) : type + "; " + s + "; " + BaseSkript.isPrimaryThread();
 		InputStreamReader in = null;
 		try {
-            in = new InputStreamReader(value);
-			return new Gson().fromJson(in, type.getC());
+			final Codec<?> codec = type.getCodec();
+			if (codec != null) {
+				final PushbackInputStream pushback = new PushbackInputStream(value, 1);
+				final int first = pushback.read();
+				if (first == CODEC_MARKER)
+					return codec.read(new DataInputStream(pushback));
+				if (first != -1)
+					pushback.unread(first);
+				value = pushback;
+			}
+			in = new InputStreamReader(value, UTF_8);
+			return GSON.fromJson(in, type.getC());
+		} catch (final IOException e) {
+			return null;
 		} finally {
 			if (in != null) {
 				try {
@@ -39,8 +39,6 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
-import java.util.WeakHashMap;
 
 @Name("Loop")
 @Description({
@@ -88,9 +86,6 @@ public class SecLoop extends LoopSection {
 	@SuppressWarnings("NotNullFieldNotInitialized")
 	private Expression<?> expr;
 
-	private final transient Map<Object, Object> current = new WeakHashMap<Object, Object>();
-	private final transient Map<Object, Iterator<?>> currentIter = new WeakHashMap<Object, Iterator<?>>();
-
 	@Nullable
 	private TriggerItem actualNext;
 
@@ -129,23 +124,21 @@ public class SecLoop extends LoopSection {
 	@Override
 	@Nullable
 	protected TriggerItem walk(Object event) {
-		Iterator<?> iter = currentIter.get(event);
-		if (iter == null) {
-			iter = expr instanceof Variable ? ((Variable<?>) expr).variablesIterator(event) : expr.iterator(event);
-			if (iter != null) {
-				if (iter.hasNext())
-					currentIter.put(event, iter);
-				else
-					iter = null;
+		IterationState state = (IterationState) getState(event);
+		if (state == null) {
+			Iterator<?> iter = expr instanceof Variable ? ((Variable<?>) expr).variablesIterator(event) : expr.iterator(event);
+			if (iter != null && iter.hasNext()) {
+				state = new IterationState(iter);
+				setState(event, state);
 			}
 		}
-		if (iter == null || !iter.hasNext()) {
+		if (state == null || !state.iterator.hasNext()) {
 			exit(event);
 			debug(event, false);
 			return actualNext;
 		} else {
-			current.put(event, iter.next());
-			currentLoopCounter.put(event, (currentLoopCounter.getOrDefault(event, 0L)) + 1);
+			state.current = state.iterator.next();
+			state.counter++;
 			return walk(event, true);
 		}
 	}
@@ -157,7 +150,8 @@ public class SecLoop extends LoopSection {
 
 	@Nullable
 	public Object getCurrent(Object event) {
-		return current.get(event);
+		IterationState state = (IterationState) getState(event);
+		return state == null ? null : state.current;
 	}
 
 	public Expression<?> getLoopedExpression() {
@@ -176,11 +170,16 @@ public class SecLoop extends LoopSection {
 		return actualNext;
 	}
 
-	@Override
-	public void exit(Object event) {
-		current.remove(event);
-		currentIter.remove(event);
-		super.exit(event);
+	private static final class IterationState extends LoopState {
+
+		private final Iterator<?> iterator;
+		@Nullable
+		private Object current;
+
+		private IterationState(Iterator<?> iterator) {
+			this.iterator = iterator;
+		}
+
 	}
 
 }
@@ -66,7 +66,6 @@ public class SecWhile extends LoopSection {
 	private TriggerItem actualNext;
 
 	private boolean doWhile;
-	private boolean ranDoWhile = false;
 
 	@Override
 	public boolean init(Expression<?>[] exprs,
@@ -90,9 +89,14 @@ public class SecWhile extends LoopSection {
 	@Nullable
 	@Override
 	protected TriggerItem walk(Object event) {
-		if ((doWhile && !ranDoWhile) || condition.check(event)) {
-			ranDoWhile = true;
-			currentLoopCounter.put(event, (currentLoopCounter.getOrDefault(event, 0L)) + 1);
+		LoopState state = getState(event);
+		// a do while loop runs once without checking its condition
+		if ((doWhile && state == null) || condition.check(event)) {
+			if (state == null) {
+				state = new LoopState();
+				setState(event, state);
+			}
+			state.counter++;
 			return walk(event, true);
 		} else {
 			exit(event);
@@ -117,10 +121,4 @@ public class SecWhile extends LoopSection {
 		return (doWhile ? "do " : "") + "while " + condition.toString(event, debug);
 	}
 
-	@Override
-	public void exit(Object event) {
-		ranDoWhile = false;
-		super.exit(event);
-	}
-
 }
@@ -42,7 +42,9 @@ import java.util.regex.Pattern;
 @Description({
 	"Functions are structures that can be executed with arguments/parameters to run code.",
 	"They can also return a value to the trigger that is executing the function.",
-	"Note that local functions come before global functions execution"
+	"Note that local functions come before global functions execution",
+	"Functions that always return the same value for the same arguments and have no side effects can be declared pure,",
+	"in which case their results are cached, so that calling them again with the same arguments doesn't execute them again."
 })
 @Examples({
 	"function sayMessage(message: text):",
@@ -52,30 +54,39 @@ import java.util.regex.Pattern;
 	"\treturn {_amount} of apple",
 	"",
 	"function getPoints(p: player) returns number:",
-	"\treturn {points::%{_p}%}"
+	"\treturn {points::%{_p}%}",
+	"",
+	"pure function getRank(points: number) :: text:",
+	"\tif {_points} >= 1000:",
+	"\t\treturn \"gold\"",
+	"\tif {_points} >= 100:",
+	"\t\treturn \"silver\"",
+	"\treturn \"bronze\""
 })
-@Since("2.2, 2.7 (local functions)")
+@Since("2.2, 2.7 (local functions), 3.0 (pure functions)")
 public class StructFunction extends Structure {
 
 	public static final Priority PRIORITY = new Priority(400);
 
 	private static final Pattern SIGNATURE_PATTERN =
-			Pattern.compile("^(?:local )?function (" + Functions.functionNamePattern + ")\\((.*?)\\)(?:\\s*(?:::| returns )\\s*(.+))?$");
+			Pattern.compile("^(?:local )?(?:pure )?function (" + Functions.functionNamePattern + ")\\((.*?)\\)(?:\\s*(?:::| returns )\\s*(.+))?$");
 	private static final AtomicBoolean VALIDATE_FUNCTIONS = new AtomicBoolean();
 
 	static {
 		Skript.registerStructure(StructFunction.class,
-			"[:local] function <.+>"
+			"[:local] [:pure] function <.+>"
 		);
 	}
 
 	@Nullable
 	private Signature<?> signature;
 	private boolean local;
+	private boolean pure;
 
 	@Override
 	public boolean init(Literal<?>[] literals, int matchedPattern, ParseResult parseResult, EntryContainer entryContainer) {
 		local = parseResult.hasTag("local");
+		pure = parseResult.hasTag("pure");
 		return true;
 	}
 
@@ -95,7 +106,7 @@ public class StructFunction extends Structure {
 		getParser().setCurrentEvent((local ? "local " : "") + "function", FunctionEvent.class);
 		signature = Functions.parseSignature(
 			getParser().getCurrentScript().getConfig().getFileName(),
-			matcher.group(1), matcher.group(2), matcher.group(3), local
+			matcher.group(1), matcher.group(2), matcher.group(3), local, pure
 		);
 		getParser().deleteCurrentEvent();
 
@@ -139,6 +150,14 @@ public class StructFunction extends Structure {
 		return PRIORITY;
 	}
 
+	/**
+	 * @return The signature of this function, or null if it has not been preloaded yet.
+	 */
+	@Nullable
+	public Signature<?> getSignature() {
+		return signature;
+	}
+
 	@Override
 	public String toString(@Nullable Object event, boolean debug) {
 		return (local ? "local " : "") + "function";
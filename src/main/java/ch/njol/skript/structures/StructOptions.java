@@ -28,7 +28,6 @@ import ch.njol.skript.doc.Name;
 import ch.njol.skript.doc.Since;
 import ch.njol.skript.lang.Literal;
 import ch.njol.skript.lang.SkriptParser.ParseResult;
-import ch.njol.util.StringUtils;
 import org.jetbrains.annotations.Nullable;
 import org.skriptlang.skript.lang.entry.EntryContainer;
 import org.skriptlang.skript.lang.script.ScriptData;
@@ -37,7 +36,6 @@ import org.skriptlang.skript.lang.structure.Structure;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.regex.Matcher;
 
 @Name("Options")
 @Description({
@@ -119,16 +117,27 @@ public class StructOptions extends Structure {
 		 * @param string The String to replace options in.
 		 * @return A String with all options replaced, or the original String if the provided Script has no options.
 		 */
-		@SuppressWarnings("ConstantConditions") // no way to get null as callback does not return null anywhere
 		public String replaceOptions(String string) {
-			return StringUtils.replaceAll(string, "\\{@(.+?)\\}", m -> {
-				String option = options.get(m.group(1));
+			int start = string.indexOf("{@");
+			if (start == -1) // Most lines don't use options
+				return string;
+			StringBuilder builder = new StringBuilder(string.length());
+			int copied = 0;
+			while (start != -1) {
+				int end = string.indexOf('}', start + 3); // option names are at least one character long
+				if (end == -1)
+					break;
+				String name = string.substring(start + 2, end);
+				String option = options.get(name);
 				if (option == null) {
-					Skript.error("undefined option " + m.group());
-					return m.group();
+					Skript.error("undefined option {@" + name + "}");
+					option = string.substring(start, end + 1);
 				}
-				return Matcher.quoteReplacement(option);
-			});
+				builder.append(string, copied, start).append(option);
+				copied = end + 1;
+				start = string.indexOf("{@", copied);
+			}
+			return builder.append(string, copied, string.length()).toString();
 		}
 
 		/**
@@ -32,22 +32,28 @@ import org.jetbrains.annotations.NotNull;
 import javax.annotation.Nullable;
 
 @Name("Parse Logs")
-@Description("Returns the last known parse logs from a parse section, if any.")
+@Description({
+	"Returns the last known parse logs from a parse section, if any.",
+	"Formatted logs are the logs as they would be printed to the console, including the line they occurred on."
+})
 @NoDoc
 public class ExprParseLogs extends SimpleExpression<String> {
 
 	static {
-		Skript.registerExpression(ExprParseLogs.class, String.class, ExpressionType.SIMPLE, "[the] [last] parse logs");
+		Skript.registerExpression(ExprParseLogs.class, String.class, ExpressionType.SIMPLE, "[the] [last] [:formatted] parse logs");
 	}
 
+	private boolean formatted;
+
 	@Override
 	public boolean init(Expression<?>[] exprs, int matchedPattern, Kleenean isDelayed, ParseResult parseResult) {
+		formatted = parseResult.hasTag("formatted");
 		return true;
 	}
 
 	@Override
 	protected String[] get(Object event) {
-		return SecParse.lastLogs;
+		return formatted ? SecParse.lastFormattedLogs : SecParse.lastLogs;
 	}
 
 	@Override
@@ -62,7 +68,7 @@ public class ExprParseLogs extends SimpleExpression<String> {
 
 	@Override
 	public String toString(@Nullable Object event, boolean debug) {
-		return "last parse logs";
+		return "last " + (formatted ? "formatted " : "") + "parse logs";
 	}
 
 }
@@ -47,7 +47,10 @@ public class SecParse extends Section {
 
 	@Nullable
 	public static String[] lastLogs;
+	@Nullable
+	public static String[] lastFormattedLogs;
 	private String[] logs;
+	private String[] formattedLogs;
 
 	@Override
 	public boolean init(Expression<?>[] exprs, int matchedPattern, Kleenean isDelayed, ParseResult parseResult, SectionNode sectionNode, List<TriggerItem> triggerItems) {
@@ -66,7 +69,11 @@ public class SecParse extends Section {
 			logs = handler.getLog().stream()
 					.map(LogEntry::getMessage)
 					.toArray(String[]::new);
+			formattedLogs = handler.getLog().stream()
+					.map(LogEntry::toFormattedString)
+					.toArray(String[]::new);
 		}
+		handler.clear();
 		handler.stop();
 		return true;
 	}
@@ -74,6 +81,7 @@ public class SecParse extends Section {
 	@Override
 	protected @Nullable TriggerItem walk(Object event) {
 		lastLogs = logs;
+		lastFormattedLogs = formattedLogs;
 		return walk(event, false);
 	}
 
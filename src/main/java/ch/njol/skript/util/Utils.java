@@ -589,12 +589,24 @@ public abstract class Utils {
 
 	public static boolean isInteger(Number... numbers) {
 		for (Number number : numbers) {
-			if (Double.class.isAssignableFrom(number.getClass()) || Float.class.isAssignableFrom(number.getClass()))
+			if (!isInteger(number))
 				return false;
 		}
 		return true;
 	}
 
+	/**
+	 * Non-varargs variant of {@link #isInteger(Number...)} for the common case of two numbers,
+	 * which is used by arithmetic and comparisons and thus shouldn't allocate an array.
+	 */
+	public static boolean isInteger(Number first, Number second) {
+		return isInteger(first) && isInteger(second);
+	}
+
+	public static boolean isInteger(Number number) {
+		return !(number instanceof Double || number instanceof Float);
+	}
+
 	public static ChatColor parseHexColor(String name) {
 		try {
 			return ChatColor.ofHex(name);
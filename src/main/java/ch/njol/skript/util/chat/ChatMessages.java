@@ -60,6 +60,46 @@ public class ChatMessages {
 	 */
 	static final ChatCode[] colorChars = new ChatCode[256];
 	
+	/**
+	 * Characters that {@link #parse(String)} has to look at individually, indexed by the character.
+	 * Runs of all other characters are copied to the message at once.
+	 */
+	private static final boolean[] specialChars = new boolean[256];
+	static {
+		specialChars['<'] = true;
+		specialChars['&'] = true;
+		specialChars['§'] = true;
+		specialChars['h'] = true; // start of a link
+	}
+
+	/**
+	 * The maximum amount of parsed messages remembered by {@link #parse(String)}.
+	 */
+	private static final int CACHE_SIZE = 256;
+
+	/**
+	 * Longer messages are not cached, as they are unlikely to be repeated.
+	 */
+	private static final int MAX_CACHED_LENGTH = 256;
+
+	/**
+	 * Recently parsed messages, least recently used first. Components are copied in and out of the cache,
+	 *  as they are mutable. Only accessed while synchronized on the cache.
+	 */
+	private static final LinkedHashMap<String, MessageComponent[]> cache = new LinkedHashMap<String, MessageComponent[]>(CACHE_SIZE * 4 / 3 + 1, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, MessageComponent[]> eldest) {
+			return size() > CACHE_SIZE;
+		}
+	};
+
+	/**
+	 * The settings the cached messages were parsed with.
+	 */
+	@Nullable
+	private static LinkParseMode cachedLinkParseMode;
+	private static boolean cachedColorResetCodes;
+
 	/**
 	 * Used to detect links when strict link parsing is enabled.
 	 */
@@ -79,6 +119,7 @@ public class ChatMessages {
 		// When language changes or server is loaded loop through all chatcodes
 		Language.addListener(() -> {
 			codes.clear();
+			clearCache();
 
 			Skript.debug("Parsing message style lang files");
 			for (SkriptChatCode code : SkriptChatCode.values()) {
@@ -126,11 +167,20 @@ public class ChatMessages {
 		if (code.getColorChar() != 0) {
 			addColorChar(code.getColorChar(), code);
 		}
+
+		clearCache();
 	}
 	
 	static void addColorChar(char code, ChatCode data) {
 		colorChars[code] = data;
 		colorChars[Character.toUpperCase(code)] = data;
+		clearCache();
+	}
+
+	private static void clearCache() {
+		synchronized (cache) {
+			cache.clear();
+		}
 	}
 	
 	static {
@@ -173,9 +223,40 @@ public class ChatMessages {
 	 * @param msg Input string.
 	 * @return List with components.
 	 */
-	@SuppressWarnings("null")
 	public static List<MessageComponent> parse(String msg) {
+		if (msg.length() > MAX_CACHED_LENGTH)
+			return parseUncached(msg);
+
+		MessageComponent[] cached;
+		synchronized (cache) {
+			if (cachedLinkParseMode != linkParseMode || cachedColorResetCodes != colorResetCodes) {
+				cache.clear();
+				cachedLinkParseMode = linkParseMode;
+				cachedColorResetCodes = colorResetCodes;
+			}
+			cached = cache.get(msg);
+		}
+		if (cached != null) {
+			List<MessageComponent> components = new ArrayList<MessageComponent>(cached.length);
+			for (MessageComponent component : cached)
+				components.add(component.copy());
+			return components;
+		}
+
+		List<MessageComponent> components = parseUncached(msg);
+		MessageComponent[] copies = new MessageComponent[components.size()];
+		for (int i = 0; i < copies.length; i++)
+			copies[i] = components.get(i).copy();
+		synchronized (cache) {
+			cache.put(msg, copies);
+		}
+		return components;
+	}
+
+	@SuppressWarnings("null")
+	private static List<MessageComponent> parseUncached(String msg) {
 		char[] chars = msg.toCharArray();
+		boolean lenientLinks = linkParseMode == LinkParseMode.LENIENT;
 		
 		List<MessageComponent> components = new ArrayList<MessageComponent>();
 		MessageComponent current = new MessageComponent();
@@ -188,6 +269,17 @@ public class ChatMessages {
 			char c = chars[i];
 			ChatCode code = null;
 			String param = "";
+
+			// Plain text can't start a link unless links are parsed leniently, copy it all at once
+			if (!lenientLinks && (c >= specialChars.length || !specialChars[c])) {
+				int end = i + 1;
+				while (end < chars.length && (chars[end] >= specialChars.length || !specialChars[chars[end]]))
+					end++;
+				curStr.append(chars, i, end - i);
+				i = end - 1;
+				lastWasColor = false;
+				continue;
+			}
 			
 			if (c == '<') { // Tag parsing
 				// Find where the tag ends
@@ -207,14 +299,13 @@ public class ChatMessages {
 				}
 				
 				if (end != -1) { // If this COULD be valid tag...
-					String tag = msg.substring(i + 1, end);
 					String name;
-					if (tag.contains(":")) {
-						String[] split = tag.split(":", 2);
-						name = split[0];
-						param = split[1];
+					int colon = msg.indexOf(':', i + 1);
+					if (colon != -1 && colon < end) {
+						name = msg.substring(i + 1, colon);
+						param = msg.substring(colon + 1, end);
 					} else {
-						name = tag;
+						name = msg.substring(i + 1, end);
 					}
 					name = name.toLowerCase(Locale.ENGLISH); // Tags are case-insensitive
 					
@@ -228,7 +319,7 @@ public class ChatMessages {
 					code = codes.get(name);
 					if (code != null || tryHex) { // ... and if the tag IS really valid
 						String text = curStr.toString();
-						curStr = new StringBuilder();
+						curStr.setLength(0);
 						assert text != null;
 						current.text = text;
 						
@@ -269,7 +360,7 @@ public class ChatMessages {
 				boolean tryHex = Utils.HEX_SUPPORTED && color == 'x';
 				ChatColor chatColor = null;
 				if (tryHex && i + 14 < chars.length) { // Try to parse hex "&x&1&2&3&4&5&6"
-					chatColor = Utils.parseHexColor(msg.substring(i + 2, i + 14).replace("&", "").replace("§", ""));
+					chatColor = parseHexColor(chars, i + 2);
 					tryHex = chatColor != null;
 				}
 				
@@ -282,7 +373,7 @@ public class ChatMessages {
 					curStr.append(c).append(color); // Invalid formatting char, plain append
 				} else {
 					String text = curStr.toString();
-					curStr = new StringBuilder();
+					curStr.setLength(0);
 					assert text != null;
 					current.text = text;
 					
@@ -311,18 +402,16 @@ public class ChatMessages {
 			
 			// Attempt link parsing, if a tag was not found
 			if ((linkParseMode == LinkParseMode.STRICT || linkParseMode == LinkParseMode.LENIENT) && c == 'h') {
-				String rest = msg.substring(i); // Get rest of string
-				
 				String link = null;
-				if (rest.startsWith("http://") || rest.startsWith("https://")) {
-					link = rest.split(" ", 2)[0];
+				if (msg.startsWith("http://", i) || msg.startsWith("https://", i)) {
+					link = msg.substring(i, wordEnd(msg, i));
 				}
 				
 				// Link found
 				if (link != null && !link.isEmpty()) {
 					// Take previous component, create new
 					String text = curStr.toString();
-					curStr = new StringBuilder();
+					curStr.setLength(0);
 					assert text != null;
 					current.text = text;
 					
@@ -345,12 +434,10 @@ public class ChatMessages {
 				}
 			} else if (linkParseMode == LinkParseMode.LENIENT && (lastWasColor || i == 0 || chars[i - 1] == ' ')) {
 				// Lenient link parsing
-				String rest = msg.substring(i); // Get rest of string
-				
 				String link = null;
-				String potentialLink = rest.split(" ", 2)[0]; // Split stuff
-				if (linkPattern.matcher(potentialLink).matches()) { // Check if it is at least somewhat valid URL
-					link = potentialLink;
+				int end = wordEnd(msg, i);
+				if (linkPattern.matcher(msg).region(i, end).matches()) { // Check if it is at least somewhat valid URL
+					link = msg.substring(i, end);
 				}
 				
 				// Link found
@@ -365,7 +452,7 @@ public class ChatMessages {
 					
 					// Take previous component, create new
 					String text = curStr.toString();
-					curStr = new StringBuilder();
+					curStr.setLength(0);
 					assert text != null;
 					current.text = text;
 					
@@ -399,6 +486,29 @@ public class ChatMessages {
 		return components;
 	}
 	
+	/**
+	 * @return The index of the first space at or after the start, or the length of the message if there is none.
+	 */
+	private static int wordEnd(String msg, int start) {
+		int end = msg.indexOf(' ', start);
+		return end == -1 ? msg.length() : end;
+	}
+
+	/**
+	 * Parses the hex color of the 12 characters following a "&amp;x", i.e. "&amp;1&amp;2&amp;3&amp;4&amp;5&amp;6", ignoring all '&amp;'s and '§'s.
+	 */
+	@Nullable
+	private static ChatColor parseHexColor(char[] chars, int start) {
+		char[] hex = new char[12];
+		int length = 0;
+		for (int i = start; i < start + 12; i++) {
+			char c = chars[i];
+			if (c != '&' && c != '§')
+				hex[length++] = c;
+		}
+		return Utils.parseHexColor(new String(hex, 0, length));
+	}
+
 	@SuppressWarnings("null")
 	public static MessageComponent[] parseToArray(String msg) {
 		return parse(msg).toArray(new MessageComponent[0]);
@@ -432,7 +542,7 @@ public class ChatMessages {
 				boolean tryHex = Utils.HEX_SUPPORTED && color == 'x';
 				ChatColor chatColor = null;
 				if (tryHex && i + 14 < chars.length) { // Try to parse hex "&x&1&2&3&4&5&6"
-					chatColor = Utils.parseHexColor(msg.substring(i + 2, i + 14).replace("&", "").replace("§", ""));
+					chatColor = parseHexColor(chars, i + 2);
 					tryHex = chatColor != null;
 				}
 
@@ -445,7 +555,7 @@ public class ChatMessages {
 					curStr.append(c).append(color); // Invalid formatting char, plain append
 				} else {
 					String text = curStr.toString();
-					curStr = new StringBuilder();
+					curStr.setLength(0);
 					current.text = text;
 
 					MessageComponent old = current;
@@ -563,8 +673,16 @@ public class ChatMessages {
 		registerChatCode(code);
 	}
 	
-	private static final Pattern HEX_COLOR_PATTERN = Pattern.compile("[§&]x");
-	private static final Pattern ANY_COLOR_PATTERN = Pattern.compile("(?i)[&§][0-9a-folkrnm]");
+	/**
+	 * The characters that can follow a '&amp;' or '§' to form a color or formatting code, indexed by the character.
+	 */
+	private static final boolean[] styleChars = new boolean[128];
+	static {
+		for (char c : "0123456789abcdefolkrnm".toCharArray()) {
+			styleChars[c] = true;
+			styleChars[Character.toUpperCase(c)] = true;
+		}
+	}
 	
 	/**
 	 * Strips all styles from given string.
@@ -589,11 +707,37 @@ public class ChatMessages {
 			String plain = builder.toString();
 			
 			if (Utils.HEX_SUPPORTED) // Strip '§x', '&x'
-				plain = HEX_COLOR_PATTERN.matcher(plain).replaceAll("");
+				plain = stripCodes(plain, true);
 			
-			result = ANY_COLOR_PATTERN.matcher(plain).replaceAll(""); // strips colors & or § (ex. &5)
+			result = stripCodes(plain, false); // strips colors & or § (ex. &5)
 		} while (!previous.equals(result));
 		
 		return result;
 	}
+
+	/**
+	 * Removes all '&amp;' and '§' codes from the text, from left to right.
+	 * @param hex Whether to remove hex color markers ('&amp;x') instead of color and formatting codes.
+	 */
+	private static String stripCodes(String text, boolean hex) {
+		int length = text.length();
+		StringBuilder builder = null;
+		int last = 0;
+		for (int i = 0; i < length - 1; i++) {
+			char c = text.charAt(i);
+			if (c != '&' && c != '§')
+				continue;
+			char code = text.charAt(i + 1);
+			if (hex ? code != 'x' : code >= styleChars.length || !styleChars[code])
+				continue;
+			if (builder == null)
+				builder = new StringBuilder(length);
+			builder.append(text, last, i);
+			last = i + 2;
+			i++;
+		}
+		if (builder == null)
+			return text;
+		return builder.append(text, last, length).toString();
+	}
 }
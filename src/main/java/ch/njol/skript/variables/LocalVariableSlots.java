@@ -0,0 +1,96 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.variables;
+
+import ch.njol.skript.SkriptConfig;
+import ch.njol.skript.lang.Variable;
+import org.skriptlang.skript.lang.script.Script;
+import org.skriptlang.skript.lang.script.ScriptData;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The slots of the local variables with a constant name used in a script, see {@link SkriptConfig#localVariableSlots}.
+ * The values of these variables are stored in an array in their {@link VariablesMap} instead of being hashed.
+ * <p>
+ * Slots are assigned per script, so that array only grows with the local variables of a single script.
+ * A reloaded script is a new {@link Script} and thus starts over with new slots.
+ */
+public final class LocalVariableSlots implements ScriptData {
+
+	/**
+	 * @param script the script to get the slots of.
+	 * @return the slots of the local variables of the script.
+	 */
+	public static LocalVariableSlots get(Script script) {
+		return script.getData(LocalVariableSlots.class, LocalVariableSlots::new);
+	}
+
+	private final Map<String, Integer> slots = new ConcurrentHashMap<String, Integer>();
+
+	/**
+	 * The names of the variables, indexed by their slot.
+	 */
+	private volatile String[] names = new String[0];
+
+	/**
+	 * Gets the slot of a local variable, assigning it a new slot if it has none yet.
+	 * The value of the variable can then be accessed using {@link Variables#getLocalVariable(LocalVariableSlots, int, Object)}
+	 * and {@link Variables#setLocalVariable(LocalVariableSlots, int, Object, Object)},
+	 * which is faster than accessing it by its name. Accessing the variable by its name will still work as before.
+	 *
+	 * @param name the name of a local variable that isn't part of a list, excluding the local variable token.
+	 * @return the slot of the variable.
+	 */
+	public synchronized int getSlot(String name) {
+		if (name.contains(Variable.SEPARATOR))
+			throw new IllegalArgumentException("List variables can't have a slot: " + name);
+		if (Variables.caseInsensitiveVariables)
+			name = name.toLowerCase(Locale.ENGLISH);
+		Integer slot = slots.get(name);
+		if (slot != null)
+			return slot;
+		String[] names = Arrays.copyOf(this.names, this.names.length + 1);
+		names[names.length - 1] = name;
+		this.names = names; // published before the slot, so getName works for any slot that was found
+		slots.put(name, names.length - 1);
+		return names.length - 1;
+	}
+
+	/**
+	 * @param name the (case-adjusted) name of a local variable.
+	 * @return the slot of the variable, or -1 if it has none.
+	 */
+	int findSlot(String name) {
+		Integer slot = slots.get(name);
+		return slot == null ? -1 : slot;
+	}
+
+	/**
+	 * @param slot a slot returned by {@link #getSlot(String)}.
+	 * @return the (case-adjusted) name of the variable in the slot.
+	 */
+	String getName(int slot) {
+		return names[slot];
+	}
+
+}
@@ -312,7 +312,7 @@ public class Variables {
 	 * The {@link VariablesMap} storing global variables,
 	 * must be locked with {@link #variablesLock}.
 	 */
-	static final VariablesMap variables = new VariablesMap();
+	static final VariablesMap variables = new VariablesMap(false);
 
 	/**
 	 * A map storing all local variables,
@@ -320,6 +320,64 @@ public class Variables {
 	 */
 	private static final Map<Object, VariablesMap> localVariables = new ConcurrentHashMap<Object, VariablesMap>();
 
+	/**
+	 * Gets the value of a local variable by its slot.
+	 *
+	 * @param slots the slots of the script the variable is used in.
+	 * @param slot the slot, see {@link LocalVariableSlots#getSlot(String)}.
+	 * @param event the event the local variable resides in.
+	 * @return the value of the variable, or {@code null} if it is not set.
+	 */
+	@Nullable
+	public static Object getLocalVariable(LocalVariableSlots slots, int slot, Object event) {
+		VariablesMap map = localVariables.get(event);
+		if (map == null)
+			return null;
+		return map.getSlot(slots, slot);
+	}
+
+	/**
+	 * Sets a local variable by its slot.
+	 *
+	 * @param slots the slots of the script the variable is used in.
+	 * @param slot the slot, see {@link LocalVariableSlots#getSlot(String)}.
+	 * @param value the variable's value. Use {@code null} to delete the variable.
+	 * @param event the event the local variable resides in.
+	 */
+	public static void setLocalVariable(LocalVariableSlots slots, int slot, @Nullable Object value, Object event) {
+		value = toSerializable(value);
+		VariablesMap map = localVariables.computeIfAbsent(event, e -> new VariablesMap(true));
+		map.setSlot(slots, slot, value);
+	}
+
+	/**
+	 * Gets state of the current execution of a trigger by the event, e.g. the iteration of a loop.
+	 * The state is kept with the event's local variables, so it is carried over delays
+	 *  and discarded when the trigger finishes executing.
+	 *
+	 * @param event the event executing the trigger.
+	 * @param key the owner of the state, usually the syntax element.
+	 * @return the state, or {@code null} if there is none.
+	 */
+	@Nullable
+	public static Object getExecutionState(Object event, Object key) {
+		VariablesMap map = localVariables.get(event);
+		return map == null ? null : map.getExecutionState(key);
+	}
+
+	/**
+	 * Sets state of the current execution of a trigger by the event, see {@link #getExecutionState(Object, Object)}.
+	 *
+	 * @param event the event executing the trigger.
+	 * @param key the owner of the state, usually the syntax element.
+	 * @param state the state, or {@code null} to remove it.
+	 */
+	public static void setExecutionState(Object event, Object key, @Nullable Object state) {
+		VariablesMap map = state == null ? localVariables.get(event) : localVariables.computeIfAbsent(event, e -> new VariablesMap(true));
+		if (map != null)
+			map.setExecutionState(key, state);
+	}
+
 	/**
 	 * Gets the {@link TreeMap} of all global variables.
 	 * <p>
@@ -398,6 +456,34 @@ public class Variables {
 		return from.copy();
 	}
 
+	/**
+	 * Creates an empty map of local variables, which can be filled using {@link #setLocalVariable(Object, String, Object)}
+	 * and then be used for an event with {@link #setLocalVariables(Object, Object)}.
+	 * This avoids looking up the map of the event for every variable when setting many variables at once,
+	 * e.g. the parameters of a function call.
+	 *
+	 * @return the new map.
+	 */
+	public static Object createLocalVariables() {
+		return new VariablesMap(true);
+	}
+
+	/**
+	 * Sets a variable in a map of local variables created by {@link #createLocalVariables()}.
+	 *
+	 * @param map the map of local variables.
+	 * @param name the variable's name.
+	 * @param value the variable's value. Use {@code null} to delete the variable.
+	 *
+	 * @see #setVariable(String, Object, Object, boolean)
+	 */
+	public static void setLocalVariable(Object map, String name, @Nullable Object value) {
+		if (caseInsensitiveVariables)
+			name = name.toLowerCase(Locale.ENGLISH);
+		assert value == null || !name.endsWith("::*");
+		((VariablesMap) map).setVariable(name, toSerializable(value));
+	}
+
 	/**
 	 * Returns the internal value of the requested variable.
 	 * <p>
@@ -483,30 +569,38 @@ public class Variables {
 			name = name.toLowerCase(Locale.ENGLISH);
 		}
 
-		// Check if conversion is needed due to ClassInfo#getSerializeAs
-		if (value != null) {
-			assert !name.endsWith("::*");
-
-			ClassInfo<?> ci = Classes.getSuperClassInfo(value.getClass());
-			Class<?> sas = ci.getSerializeAs();
-
-			if (sas != null) {
-				value = Converters.convert(value, sas);
-				assert value != null : ci + ", " + sas;
-			}
-		}
+		assert value == null || !name.endsWith("::*");
+		value = toSerializable(value);
 
 		if (local) {
 			assert event != null : name;
 
 			// Get the variables map and set the variable in it
-			VariablesMap map = localVariables.computeIfAbsent(event, e -> new VariablesMap());
+			VariablesMap map = localVariables.computeIfAbsent(event, e -> new VariablesMap(true));
 			map.setVariable(name, value);
 		} else {
 			setVariable(name, value);
 		}
 	}
 
+	/**
+	 * Converts the given value if needed due to {@link ClassInfo#getSerializeAs()}.
+	 */
+	@Nullable
+	private static Object toSerializable(@Nullable Object value) {
+		if (value == null)
+			return null;
+
+		ClassInfo<?> ci = Classes.getSuperClassInfo(value.getClass());
+		Class<?> sas = ci.getSerializeAs();
+
+		if (sas != null) {
+			value = Converters.convert(value, sas);
+			assert value != null : ci + ", " + sas;
+		}
+		return value;
+	}
+
 	/**
 	 * Sets the given global variable name to the given value.
 	 *
@@ -22,8 +22,10 @@ import ch.njol.skript.lang.Variable;
 import ch.njol.util.StringUtils;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.TreeMap;
@@ -147,6 +149,36 @@ final class VariablesMap {
 	 */
 	final TreeMap<String, Object> treeMap = new TreeMap<String, Object>();
 
+	/**
+	 * Whether this map stores local variables, which may have a slot (see {@link LocalVariableSlots}).
+	 */
+	private final boolean local;
+
+	/**
+	 * The slots of the script this map is used by, set by the first access to a slot.
+	 * Accessing a variable by its name uses its slot if it has one there.
+	 */
+	@Nullable
+	private LocalVariableSlots slotNames;
+
+	/**
+	 * The values of local variables that have a slot in {@link #slotNames}, indexed by their slot.
+	 * These variables are not stored in the {@link #hashMap} or {@link #treeMap}.
+	 * As they can't be part of a list, they don't affect any list variable.
+	 */
+	private Object @Nullable [] slots;
+
+	/**
+	 * State of the trigger execution these local variables belong to, keyed by the syntax element it belongs to,
+	 *  see {@link Variables#getExecutionState(Object, Object)}. It is not copied, as it belongs to a single execution.
+	 */
+	@Nullable
+	private IdentityHashMap<Object, Object> executionState;
+
+	VariablesMap(boolean local) {
+		this.local = local;
+	}
+
 	/**
 	 * Returns the internal value of the requested variable.
 	 * <p>
@@ -161,6 +193,12 @@ final class VariablesMap {
 	@Nullable
 	Object getVariable(String name) {
 		if (!name.endsWith("*")) {
+			LocalVariableSlots slotNames = this.slotNames;
+			if (slotNames != null) {
+				int slot = slotNames.findSlot(name);
+				if (slot != -1)
+					return getSlot(slotNames, slot);
+			}
 			// Not a list variable, quick access from the hash map
 			return hashMap.get(name);
 		} else {
@@ -205,8 +243,25 @@ final class VariablesMap {
 	 * @param name the variable name.
 	 * @param value the variable value, {@code null} to delete the variable.
 	 */
-	@SuppressWarnings("unchecked")
 	void setVariable(String name, @Nullable Object value) {
+		LocalVariableSlots slotNames = this.slotNames;
+		if (slotNames != null && !name.endsWith("*")) {
+			int slot = slotNames.findSlot(name);
+			if (slot != -1) {
+				setSlot(slotNames, slot, value);
+				return;
+			}
+		}
+		setHashedVariable(name, value);
+	}
+
+	/**
+	 * Sets the given variable in the {@link #hashMap} and {@link #treeMap}, ignoring slots.
+	 *
+	 * @see #setVariable(String, Object)
+	 */
+	@SuppressWarnings("unchecked")
+	private void setHashedVariable(String name, @Nullable Object value) {
 		// First update the hash map easily
 		if (!name.endsWith("*")) {
 			if (value == null)
@@ -300,6 +355,91 @@ final class VariablesMap {
 		}
 	}
 
+	/**
+	 * @param slotNames the slots of the script the variable is used in.
+	 * @param slot the slot of a local variable.
+	 * @return the value of the variable, or {@code null} if it is not set.
+	 */
+	@Nullable
+	Object getSlot(LocalVariableSlots slotNames, int slot) {
+		if (!bindSlots(slotNames))
+			return getVariable(slotNames.getName(slot));
+		Object[] slots = this.slots;
+		Object value = slots != null && slot < slots.length ? slots[slot] : null;
+		if (value == null && !hashMap.isEmpty()) {
+			// the variable may have been set by its name before it had a slot, e.g. a function parameter
+			String name = slotNames.getName(slot);
+			value = hashMap.get(name);
+			if (value != null) {
+				setHashedVariable(name, null);
+				setSlotValue(slot, value);
+			}
+		}
+		return value;
+	}
+
+	/**
+	 * @param slotNames the slots of the script the variable is used in.
+	 * @param slot the slot of a local variable.
+	 * @param value the variable value, {@code null} to delete the variable.
+	 */
+	void setSlot(LocalVariableSlots slotNames, int slot, @Nullable Object value) {
+		if (!bindSlots(slotNames)) {
+			setVariable(slotNames.getName(slot), value);
+			return;
+		}
+		if (!hashMap.isEmpty()) {
+			String name = slotNames.getName(slot);
+			if (hashMap.containsKey(name))
+				setHashedVariable(name, null);
+		}
+		setSlotValue(slot, value);
+	}
+
+	/**
+	 * Binds this map to the given slots if it isn't bound to any yet.
+	 *
+	 * @return whether this map uses the given slots. If it doesn't, e.g. because the script was reloaded
+	 * while a trigger using this map was delayed, the variable must be accessed by its name instead.
+	 */
+	private boolean bindSlots(LocalVariableSlots slotNames) {
+		assert local;
+		if (this.slotNames == slotNames)
+			return true;
+		if (this.slotNames != null)
+			return false;
+		this.slotNames = slotNames;
+		return true;
+	}
+
+	private void setSlotValue(int slot, @Nullable Object value) {
+		Object[] slots = this.slots;
+		if (slots == null || slot >= slots.length) {
+			if (value == null)
+				return;
+			slots = this.slots = slots == null ? new Object[slot + 1] : Arrays.copyOf(slots, Math.max(slot + 1, slots.length * 2));
+		}
+		slots[slot] = value;
+	}
+
+	@Nullable
+	Object getExecutionState(Object key) {
+		IdentityHashMap<Object, Object> executionState = this.executionState;
+		return executionState == null ? null : executionState.get(key);
+	}
+
+	void setExecutionState(Object key, @Nullable Object state) {
+		IdentityHashMap<Object, Object> executionState = this.executionState;
+		if (state == null) {
+			if (executionState != null)
+				executionState.remove(key);
+			return;
+		}
+		if (executionState == null)
+			executionState = this.executionState = new IdentityHashMap<Object, Object>(4);
+		executionState.put(key, state);
+	}
+
 	/**
 	 * Deletes all indices of a list variable from the {@link #hashMap}.
 	 *
@@ -331,9 +471,12 @@ final class VariablesMap {
 	 * @return the copy.
 	 */
 	public VariablesMap copy() {
-		VariablesMap copy = new VariablesMap();
+		VariablesMap copy = new VariablesMap(local);
 
 		copy.hashMap.putAll(hashMap);
+		copy.slotNames = slotNames;
+		if (slots != null)
+			copy.slots = slots.clone();
 
 		TreeMap<String, Object> treeMapCopy = copyTreeMap(treeMap);
 		copy.treeMap.putAll(treeMapCopy);
@@ -24,6 +24,7 @@ import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
@@ -39,9 +40,16 @@ public final class DefaultYggdrasilInputStream extends YggdrasilInputStream {
 	private final InputStream in;
 	private final short version;
 	
+	/**
+	 * Holds data read ahead from the underlying stream, so that it doesn't have to be buffered
+	 *  and primitives can be read in bulk instead of byte by byte.
+	 */
+	private final ByteBuffer buffer = ByteBuffer.allocate(DefaultYggdrasilOutputStream.BUFFER_SIZE);
+	
 	public DefaultYggdrasilInputStream(Yggdrasil yggdrasil, InputStream in) throws IOException {
 		super(yggdrasil);
 		this.in = in;
+		buffer.limit(0);
 		if (readInt() != Yggdrasil.MAGIC_NUMBER)
 			throw new StreamCorruptedException("Not an Yggdrasil stream");
 		version = readShort();
@@ -50,28 +58,60 @@ public final class DefaultYggdrasilInputStream extends YggdrasilInputStream {
 	}
 	
 	/**
-	 * @throws EOFException If the end of the stream is reached
+	 * Reads from the underlying stream until the buffer holds at least the given amount of bytes.
+	 * @return Whether the buffer holds enough bytes, i.e. false if the end of the stream was reached
 	 */
-	private int read() throws IOException {
-		int b = in.read();
-		if (b < 0)
+	private boolean fill(int bytes) throws IOException {
+		assert bytes <= buffer.capacity();
+		if (buffer.remaining() >= bytes)
+			return true;
+		buffer.compact();
+		try {
+			while (buffer.position() < bytes) {
+				int n = in.read(buffer.array(), buffer.position(), buffer.remaining());
+				if (n < 0)
+					return false;
+				buffer.position(buffer.position() + n);
+			}
+			return true;
+		} finally {
+			buffer.flip();
+		}
+	}
+	
+	/**
+	 * @throws EOFException If the end of the stream is reached before the given amount of bytes could be read
+	 */
+	private ByteBuffer require(int bytes) throws IOException {
+		if (!fill(bytes))
 			throw new EOFException();
-		return b;
+		return buffer;
 	}
 	
-	private void readFully(byte[] buf) throws IOException {
-		readFully(buf, buf.length);
+	/**
+	 * @throws EOFException If the end of the stream is reached
+	 */
+	private int read() throws IOException {
+		return require(1).get() & 0xFF;
 	}
 	
-	private void readFully(byte[] buf, int startLength) throws IOException {
-		int offset = 0;
-		int length = startLength;
-		while (length > 0) {
-			int n = in.read(buf, offset, length);
+	private void readFully(byte[] buf) throws IOException {
+		int length = buf.length;
+		int offset = Math.min(buffer.remaining(), length);
+		buffer.get(buf, 0, offset);
+		if (offset == length)
+			return;
+		if (length - offset <= buffer.capacity()) {
+			if (!fill(length - offset))
+				throw new EOFException("Expected " + length + " bytes, but could only read " + (offset + buffer.remaining()));
+			buffer.get(buf, offset, length - offset);
+			return;
+		}
+		while (offset < length) {
+			int n = in.read(buf, offset, length - offset);
 			if (n < 0)
-				throw new EOFException("Expected " + startLength + " bytes, but could only read " + (startLength - length));
+				throw new EOFException("Expected " + length + " bytes, but could only read " + offset);
 			offset += n;
-			length -= n;
 		}
 	}
 	
@@ -107,7 +147,7 @@ public final class DefaultYggdrasilInputStream extends YggdrasilInputStream {
 	}
 	
 	private short readShort() throws IOException {
-		return (short) (read() << 8 | read());
+		return require(2).getShort();
 	}
 	
 	private short readUnsignedShort() throws IOException {
@@ -118,24 +158,18 @@ public final class DefaultYggdrasilInputStream extends YggdrasilInputStream {
 	}
 	
 	private int readInt() throws IOException {
-		return read() << 24
-				| read() << 16
-				| read() << 8
-				| read();
+		return require(4).getInt();
 	}
 	
 	private int readUnsignedInt() throws IOException {
 		int b = read();
 		if ((b & 0x80) != 0)
 			return (b & ~0x80) << 8 | read();
-		return b << 24 | read() << 16 | read() << 8 | read();
+		return b << 24 | read() << 16 | (require(2).getShort() & 0xFFFF);
 	}
 	
 	private long readLong() throws IOException {
-		return (long) in.read() << 56 | (long) in.read() << 48
-				| (long) in.read() << 40 | (long) in.read() << 32
-				| (long) in.read() << 24 | (long) in.read() << 16
-				| (long) in.read() << 8 | read();
+		return require(8).getLong();
 	}
 	
 	private float readFloat() throws IOException {
@@ -286,7 +320,7 @@ public final class DefaultYggdrasilInputStream extends YggdrasilInputStream {
 	public void close() throws IOException {
 		try {
 			read();
-			throw new StreamCorruptedException("Stream still has data, at least " + (1 + in.available()) + " bytes remain");
+			throw new StreamCorruptedException("Stream still has data, at least " + (1 + buffer.remaining() + in.available()) + " bytes remain");
 		} catch (EOFException ignored) {} finally {
 			in.close();
 		}
@@ -20,6 +20,7 @@ package ch.njol.yggdrasil;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
@@ -28,9 +29,20 @@ import static ch.njol.yggdrasil.Tag.*;
 
 public final class DefaultYggdrasilOutputStream extends YggdrasilOutputStream {
 	
+	/**
+	 * The size of the buffer that data is collected in before it is written to the underlying stream.
+	 */
+	static final int BUFFER_SIZE = 8192;
+	
 	private final OutputStream out;
 	private final short version;
 	
+	/**
+	 * Collects written data, so that the underlying stream doesn't have to be unbuffered
+	 *  and primitives are written in bulk instead of byte by byte.
+	 */
+	private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+	
 	public DefaultYggdrasilOutputStream(Yggdrasil yggdrasil, OutputStream out) throws IOException {
 		super(yggdrasil);
 		this.out = out;
@@ -39,13 +51,38 @@ public final class DefaultYggdrasilOutputStream extends YggdrasilOutputStream {
 		writeShort(version);
 	}
 	
+	/**
+	 * Makes sure the buffer has space for the given amount of bytes.
+	 */
+	private ByteBuffer ensure(int bytes) throws IOException {
+		if (buffer.remaining() < bytes)
+			flushBuffer();
+		return buffer;
+	}
+	
+	private void flushBuffer() throws IOException {
+		out.write(buffer.array(), 0, buffer.position());
+		buffer.clear();
+	}
+	
 	private void write(int b) throws IOException {
-		out.write(b);
+		ensure(1).put((byte) b);
+	}
+	
+	private void write(byte[] d) throws IOException {
+		if (d.length > buffer.remaining()) {
+			flushBuffer();
+			if (d.length > buffer.capacity()) {
+				out.write(d);
+				return;
+			}
+		}
+		buffer.put(d);
 	}
 	
 	@Override
 	protected void writeTag(Tag tag) throws IOException {
-		out.write(tag.tag);
+		write(tag.tag);
 	}
 	
 	private final Map<String, Integer> writtenShortStrings = new HashMap<String, Integer>();
@@ -68,7 +105,7 @@ public final class DefaultYggdrasilOutputStream extends YggdrasilOutputStream {
 			if (d.length >= (T_REFERENCE.tag & 0xFF))
 				throw new YggdrasilException("Field name or Class ID too long: " + string);
 			write(d.length);
-			out.write(d);
+			write(d);
 			if (d.length > 4)
 				writtenShortStrings.put(string, nextShortStringID++);
 		}
@@ -79,8 +116,7 @@ public final class DefaultYggdrasilOutputStream extends YggdrasilOutputStream {
 	}
 	
 	private void writeShort(short s) throws IOException {
-		write((s >>> 8) & 0xFF);
-		write(s & 0xFF);
+		ensure(2).putShort(s);
 	}
 	
 	private void writeUnsignedShort(short s) throws IOException {
@@ -92,10 +128,7 @@ public final class DefaultYggdrasilOutputStream extends YggdrasilOutputStream {
 	}
 	
 	private void writeInt(int i) throws IOException {
-		write((i >>> 24) & 0xFF);
-		write((i >>> 16) & 0xFF);
-		write((i >>> 8) & 0xFF);
-		write(i & 0xFF);
+		ensure(4).putInt(i);
 	}
 	
 	private void writeUnsignedInt(int i) throws IOException {
@@ -107,14 +140,7 @@ public final class DefaultYggdrasilOutputStream extends YggdrasilOutputStream {
 	}
 	
 	private void writeLong(long l) throws IOException {
-		write((int) ((l >>> 56) & 0xFF));
-		write((int) ((l >>> 48) & 0xFF));
-		write((int) ((l >>> 40) & 0xFF));
-		write((int) ((l >>> 32) & 0xFF));
-		write((int) ((l >>> 24) & 0xFF));
-		write((int) ((l >>> 16) & 0xFF));
-		write((int) ((l >>> 8) & 0xFF));
-		write((int) (l & 0xFF));
+		ensure(8).putLong(l);
 	}
 	
 	private void writeFloat(float f) throws IOException {
@@ -175,7 +201,7 @@ public final class DefaultYggdrasilOutputStream extends YggdrasilOutputStream {
 	protected void writeStringValue(String string) throws IOException {
 		byte[] d = string.getBytes(StandardCharsets.UTF_8);
 		writeUnsignedInt(d.length);
-		out.write(d);
+		write(d);
 	}
 	
 	@Override
@@ -271,12 +297,17 @@ public final class DefaultYggdrasilOutputStream extends YggdrasilOutputStream {
 	
 	@Override
 	public void flush() throws IOException {
+		flushBuffer();
 		out.flush();
 	}
 	
 	@Override
 	public void close() throws IOException {
-		out.close();
+		try {
+			flushBuffer();
+		} finally {
+			out.close();
+		}
 	}
 	
 }
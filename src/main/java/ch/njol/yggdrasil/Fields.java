@@ -25,6 +25,9 @@ import org.jetbrains.annotations.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 import java.io.NotSerializableException;
 import java.io.StreamCorruptedException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.util.*;
@@ -50,10 +53,10 @@ public final class Fields implements Iterable<FieldContext> {
 			this.id = id;
 		}
 		
-		FieldContext(Field field, Object object) throws IllegalArgumentException, IllegalAccessException {
-			id = Yggdrasil.getID(field);
-			value = field.get(object);
-			isPrimitiveValue = field.getType().isPrimitive();
+		FieldContext(String id, @Nullable Object value, boolean isPrimitiveValue) {
+			this.id = id;
+			this.value = value;
+			this.isPrimitiveValue = isPrimitiveValue;
 		}
 		
 		public String getID() {
@@ -123,12 +126,29 @@ public final class Fields implements Iterable<FieldContext> {
 		}
 		
 		public void setField(Object object, Field field, Yggdrasil yggdrasil) throws StreamCorruptedException {
+			setField(object, field, null, yggdrasil);
+		}
+		
+		/**
+		 * @param setter The setter of the field from its {@link Layout}, which is used instead of reflection if present
+		 */
+		private void setField(Object object, Field field, @Nullable MethodHandle setter, Yggdrasil yggdrasil) throws StreamCorruptedException {
 			if (Modifier.isStatic(field.getModifiers()))
 				throw new StreamCorruptedException("The field " + id + " of " + field.getDeclaringClass() + " is static");
 			if (Modifier.isTransient(field.getModifiers()))
 				throw new StreamCorruptedException("The field " + id + " of " + field.getDeclaringClass() + " is transient");
 			if (field.getType().isPrimitive() != isPrimitiveValue)
 				throw new StreamCorruptedException("The field " + id + " of " + field.getDeclaringClass() + " is " + (field.getType().isPrimitive() ? "" : "not ") + "primitive");
+			if (setter != null) {
+				try {
+					setter.invokeExact(object, value);
+					return;
+				} catch (ClassCastException | NullPointerException e) {
+					// let reflection decide, which may widen primitives or report the field as incompatible
+				} catch (Throwable e) {
+					throw new YggdrasilException(e);
+				}
+			}
 			try {
 				field.setAccessible(true);
 				field.set(object, value);
@@ -162,7 +182,14 @@ public final class Fields implements Iterable<FieldContext> {
 	@Nullable
 	private final Yggdrasil yggdrasil;
 	
-	private final Map<String, FieldContext> fields = new HashMap<String, FieldContext>();
+	private static final FieldContext[] EMPTY = new FieldContext[0];
+	
+	/**
+	 * The fields in the order they were added. Looked up linearly by their ID,
+	 *  which is cheaper than a map for the few fields objects usually have.
+	 */
+	private FieldContext[] fields = EMPTY;
+	private int size;
 	
 	/**
 	 * Creates an empty Fields object.
@@ -185,11 +212,10 @@ public final class Fields implements Iterable<FieldContext> {
 	 */
 	public Fields(Class<?> type, Yggdrasil yggdrasil) throws NotSerializableException {
 		this.yggdrasil = yggdrasil;
-		for (Field field : getFields(type)) {
-			assert field != null;
-			String id = Yggdrasil.getID(field);
-			fields.put(id, new FieldContext(id));
-		}
+		Layout layout = getLayout(type);
+		fields = new FieldContext[layout.ids.length];
+		for (String id : layout.ids)
+			fields[size++] = new FieldContext(id);
 	}
 	
 	/**
@@ -216,17 +242,98 @@ public final class Fields implements Iterable<FieldContext> {
 		this.yggdrasil = yggdrasil;
 		Class<?> type = object.getClass();
 		assert type != null;
-		for (Field field : getFields(type)) {
-			assert field != null;
+		Layout layout = getLayout(type);
+		fields = new FieldContext[layout.ids.length];
+		for (int i = 0; i < layout.ids.length; i++) {
+			Object value;
 			try {
-				fields.put(Yggdrasil.getID(field), new FieldContext(field, object));
-			} catch (IllegalArgumentException | IllegalAccessException e) {
-				assert false;
+				value = layout.getters[i].invokeExact(object);
+			} catch (Throwable e) {
+				throw new YggdrasilException(e);
+			}
+			fields[size++] = new FieldContext(layout.ids[i], value, layout.fields[i].getType().isPrimitive());
+		}
+	}
+	
+	/**
+	 * The serializable fields of a class, with their IDs and accessors.
+	 * Accessors are method handles, which are faster than reflection once they are created.
+	 */
+	private static final class Layout {
+		
+		private final Field[] fields;
+		private final String[] ids;
+		private final MethodHandle[] getters;
+		private final MethodHandle[] setters;
+		private final Collection<Field> fieldCollection;
+		
+		/**
+		 * Set if the class can't be serialized, in which case all other fields are empty.
+		 */
+		@Nullable
+		private final String error;
+		
+		private Layout(Class<?> type) {
+			List<Field> fields = new ArrayList<Field>();
+			Set<String> ids = new HashSet<String>();
+			String error = null;
+			collect:
+			for (Class<?> superClass = type; superClass != null; superClass = superClass.getSuperclass()) {
+				Field[] declaredFields = superClass.getDeclaredFields();
+				for (Field field : declaredFields) {
+					int modifiers = field.getModifiers();
+					if (field.isSynthetic() || Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers))
+						continue;
+					String id = Yggdrasil.getID(field);
+					if (ids.contains(id)) {
+						error = type + "/" + superClass + ": duplicate field id '" + id + "'";
+						fields.clear();
+						break collect;
+					}
+					field.setAccessible(true);
+					fields.add(field);
+					ids.add(id);
+				}
+			}
+			this.error = error;
+			this.fields = fields.toArray(new Field[0]);
+			this.ids = new String[this.fields.length];
+			this.getters = new MethodHandle[this.fields.length];
+			this.setters = new MethodHandle[this.fields.length];
+			MethodHandles.Lookup lookup = MethodHandles.lookup();
+			for (int i = 0; i < this.fields.length; i++) {
+				Field field = this.fields[i];
+				this.ids[i] = Yggdrasil.getID(field);
+				try {
+					getters[i] = lookup.unreflectGetter(field).asType(GETTER_TYPE);
+					// final fields have no setter, they are set using reflection
+					if (!Modifier.isFinal(field.getModifiers()))
+						setters[i] = lookup.unreflectSetter(field).asType(SETTER_TYPE);
+				} catch (IllegalAccessException e) {
+					throw new YggdrasilException(e);
+				}
 			}
+			this.fieldCollection = Collections.unmodifiableList(Arrays.asList(this.fields));
 		}
+		
+		private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+		private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+		
 	}
 	
-	private static final Map<Class<?>, Collection<Field>> cache = new HashMap<Class<?>, Collection<Field>>();
+	private static final ClassValue<Layout> layouts = new ClassValue<Layout>() {
+		@Override
+		protected Layout computeValue(Class<?> type) {
+			return new Layout(type);
+		}
+	};
+	
+	private static Layout getLayout(Class<?> type) throws NotSerializableException {
+		Layout layout = layouts.get(type);
+		if (layout.error != null)
+			throw new NotSerializableException(layout.error);
+		return layout;
+	}
 	
 	/**
 	 * Gets all serializable fields of the provided class, including superclasses.
@@ -237,28 +344,7 @@ public final class Fields implements Iterable<FieldContext> {
 	 *                                  field with the same name as a field in one of its superclasses)
 	 */
 	public static Collection<Field> getFields(Class<?> type) throws NotSerializableException {
-		Collection<Field> fields = cache.get(type);
-		if (fields != null)
-			return fields;
-		fields = new ArrayList<Field>();
-		Set<String> ids = new HashSet<String>();
-		for (Class<?> superClass = type; superClass != null; superClass = superClass.getSuperclass()) {
-			Field[] declaredFields = superClass.getDeclaredFields();
-			for (Field field : declaredFields) {
-				int modifiers = field.getModifiers();
-				if (field.isSynthetic() || Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers))
-					continue;
-				String id = Yggdrasil.getID(field);
-				if (ids.contains(id))
-					throw new NotSerializableException(type + "/" + superClass + ": duplicate field id '" + id + "'");
-				field.setAccessible(true);
-				fields.add(field);
-				ids.add(id);
-			}
-		}
-		fields = Collections.unmodifiableCollection(fields);
-		cache.put(type, fields);
-		return fields;
+		return getLayout(type).fieldCollection;
 	}
 	
 	/**
@@ -271,23 +357,25 @@ public final class Fields implements Iterable<FieldContext> {
 		Yggdrasil yggdrasil = this.yggdrasil;
 		if (yggdrasil == null)
 			throw new YggdrasilException("");
-		Set<FieldContext> excessive = new HashSet<FieldContext>(fields.values());
 		Class<?> type = object.getClass();
 		assert type != null;
-		for (Field field : getFields(type)) {
-			assert field != null;
-			String id = Yggdrasil.getID(field);
-			FieldContext context = fields.get(id);
-			if (context == null) {
+		Layout layout = getLayout(type);
+		boolean[] used = new boolean[size];
+		for (int i = 0; i < layout.fields.length; i++) {
+			Field field = layout.fields[i];
+			int index = indexOf(layout.ids[i]);
+			if (index == -1) {
 				if (!(object instanceof YggdrasilRobustSerializable) || !((YggdrasilRobustSerializable) object).missingField(field))
 					yggdrasil.missingField(object, field);
 			} else {
-				context.setField(object, field, yggdrasil);
+				fields[index].setField(object, field, layout.setters[i], yggdrasil);
+				used[index] = true;
 			}
-			excessive.remove(context);
 		}
-		for (FieldContext context : excessive) {
-			assert context != null;
+		for (int i = 0; i < used.length; i++) {
+			if (used[i])
+				continue;
+			FieldContext context = fields[i];
 			if (!(object instanceof YggdrasilRobustSerializable) || !((YggdrasilRobustSerializable) object).excessiveField(context))
 				yggdrasil.excessiveField(object, context);
 		}
@@ -303,21 +391,39 @@ public final class Fields implements Iterable<FieldContext> {
 	 * @return The number of fields defined
 	 */
 	public int size() {
-		return fields.size();
+		return size;
+	}
+	
+	private int indexOf(String fieldID) {
+		FieldContext[] fields = this.fields;
+		for (int i = 0; i < size; i++) {
+			if (fields[i].id.equals(fieldID))
+				return i;
+		}
+		return -1;
+	}
+	
+	@Nullable
+	private FieldContext get(String fieldID) {
+		int index = indexOf(fieldID);
+		return index == -1 ? null : fields[index];
+	}
+	
+	private FieldContext getOrAdd(String fieldID) {
+		int index = indexOf(fieldID);
+		if (index != -1)
+			return fields[index];
+		if (size == fields.length)
+			fields = Arrays.copyOf(fields, Math.max(4, size * 2));
+		return fields[size++] = new FieldContext(fieldID);
 	}
 	
 	public void putObject(String fieldID, @Nullable Object value) {
-		FieldContext context = fields.get(fieldID);
-		if (context == null)
-			fields.put(fieldID, context = new FieldContext(fieldID));
-		context.setObject(value);
+		getOrAdd(fieldID).setObject(value);
 	}
 	
 	public void putPrimitive(String fieldID, Object value) {
-		FieldContext context = fields.get(fieldID);
-		if (context == null)
-			fields.put(fieldID, context = new FieldContext(fieldID));
-		context.setPrimitive(value);
+		getOrAdd(fieldID).setPrimitive(value);
 	}
 	
 	/**
@@ -325,16 +431,16 @@ public final class Fields implements Iterable<FieldContext> {
 	 * @return Whether the field is defined
 	 */
 	public boolean contains(String fieldID) {
-		return fields.containsKey(fieldID);
+		return indexOf(fieldID) != -1;
 	}
 	
 	public boolean hasField(String fieldID) {
-	    return fields.containsKey(fieldID);
+	    return indexOf(fieldID) != -1;
 	}
 	
 	@Nullable
 	public Object getObject(String field) throws StreamCorruptedException {
-		FieldContext context = fields.get(field);
+		FieldContext context = get(field);
 		if (context == null)
 			throw new StreamCorruptedException("Nonexistent field " + field);
 		return context.getObject();
@@ -343,14 +449,14 @@ public final class Fields implements Iterable<FieldContext> {
 	@Nullable
 	public <T> T getObject(String fieldID, Class<T> expectedType) throws StreamCorruptedException {
 		assert !expectedType.isPrimitive();
-		FieldContext context = fields.get(fieldID);
+		FieldContext context = get(fieldID);
 		if (context == null)
 			throw new StreamCorruptedException("Nonexistent field " + fieldID);
 		return context.getObject(expectedType);
 	}
 	
 	public Object getPrimitive(String fieldID) throws StreamCorruptedException {
-		FieldContext context = fields.get(fieldID);
+		FieldContext context = get(fieldID);
 		if (context == null)
 			throw new StreamCorruptedException("Nonexistent field " + fieldID);
 		return context.getPrimitive();
@@ -358,7 +464,7 @@ public final class Fields implements Iterable<FieldContext> {
 	
 	public <T> T getPrimitive(String fieldID, Class<T> expectedType) throws StreamCorruptedException {
 		assert expectedType.isPrimitive() || Tag.getPrimitiveFromWrapper(expectedType).isPrimitive();
-		FieldContext context = fields.get(fieldID);
+		FieldContext context = get(fieldID);
 		if (context == null)
 			throw new StreamCorruptedException("Nonexistent field " + fieldID);
 		return context.getPrimitive(expectedType);
@@ -384,13 +490,31 @@ public final class Fields implements Iterable<FieldContext> {
 	 * @return Whether a field with the given name was actually defined
 	 */
 	public boolean removeField(String fieldID) {
-		return fields.remove(fieldID) != null;
+		int index = indexOf(fieldID);
+		if (index == -1)
+			return false;
+		System.arraycopy(fields, index + 1, fields, index, size - index - 1);
+		fields[--size] = null;
+		return true;
 	}
 	
-	@SuppressWarnings("null")
 	@Override
 	public Iterator<FieldContext> iterator() {
-		return fields.values().iterator();
+		return new Iterator<FieldContext>() {
+			private int next = 0;
+			
+			@Override
+			public boolean hasNext() {
+				return next < size;
+			}
+			
+			@Override
+			public FieldContext next() {
+				if (next >= size)
+					throw new NoSuchElementException();
+				return fields[next++];
+			}
+		};
 	}
 	
 }
@@ -0,0 +1,94 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.yggdrasil;
+
+/**
+ * Maps objects by identity to the IDs they were written with, like an {@link java.util.IdentityHashMap IdentityHashMap&lt;Object, Integer&gt;}
+ * without boxing the IDs. Used by {@link YggdrasilOutputStream} to write references to objects that were written before.
+ * <br>
+ * Uses open addressing with linear probing. Entries can't be removed.
+ */
+final class ReferenceTable {
+
+	/**
+	 * Returned by {@link #get(Object)} if an object is not in the table.
+	 * IDs are either positive or the complement of a positive ID, so this can't be a valid ID.
+	 */
+	static final int ABSENT = Integer.MIN_VALUE;
+
+	private Object[] keys = new Object[64];
+	private int[] values = new int[64];
+	private int size;
+
+	/**
+	 * @return The ID of the object, or {@link #ABSENT} if it isn't in the table.
+	 */
+	int get(Object key) {
+		Object[] keys = this.keys;
+		int mask = keys.length - 1;
+		for (int i = index(key, mask); ; i = (i + 1) & mask) {
+			Object k = keys[i];
+			if (k == key)
+				return values[i];
+			if (k == null)
+				return ABSENT;
+		}
+	}
+
+	void put(Object key, int value) {
+		assert value != ABSENT;
+		int mask = keys.length - 1;
+		int i = index(key, mask);
+		while (keys[i] != null) {
+			if (keys[i] == key) {
+				values[i] = value;
+				return;
+			}
+			i = (i + 1) & mask;
+		}
+		keys[i] = key;
+		values[i] = value;
+		if (++size * 3 > keys.length * 2) // keep the load factor below 2/3
+			resize();
+	}
+
+	private void resize() {
+		Object[] oldKeys = keys;
+		int[] oldValues = values;
+		keys = new Object[oldKeys.length * 2];
+		values = new int[oldKeys.length * 2];
+		int mask = keys.length - 1;
+		for (int j = 0; j < oldKeys.length; j++) {
+			Object key = oldKeys[j];
+			if (key == null)
+				continue;
+			int i = index(key, mask);
+			while (keys[i] != null)
+				i = (i + 1) & mask;
+			keys[i] = key;
+			values[i] = oldValues[j];
+		}
+	}
+
+	private static int index(Object key, int mask) {
+		int hash = System.identityHashCode(key) * 0x9E3779B9; // spread the bits, as identity hashes may be clustered
+		return (hash ^ (hash >>> 16)) & mask;
+	}
+
+}
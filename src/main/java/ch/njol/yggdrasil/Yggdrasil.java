@@ -29,6 +29,9 @@ import java.io.*;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -265,7 +268,7 @@ public final class Yggdrasil {
 	
 	public void saveToFile(Object object, File file) throws IOException {
 		try (
-			FileOutputStream fout = new FileOutputStream(file);
+			OutputStream fout = Channels.newOutputStream(FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE));
 			YggdrasilOutputStream yout = newOutputStream(fout)
 		) {
 			yout.writeObject(object);
@@ -276,7 +279,7 @@ public final class Yggdrasil {
 	@Nullable
 	public <T> T loadFromFile(File file, Class<T> expectedType) throws IOException {
 		try (
-			FileInputStream fin = new FileInputStream(file);
+			InputStream fin = Channels.newInputStream(FileChannel.open(file.toPath()));
 			YggdrasilInputStream yin = newInputStream(fin)
 		) {
 			return yin.readObject(expectedType);
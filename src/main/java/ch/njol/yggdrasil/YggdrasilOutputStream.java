@@ -27,7 +27,6 @@ import java.io.Flushable;
 import java.io.IOException;
 import java.io.NotSerializableException;
 import java.lang.reflect.Array;
-import java.util.IdentityHashMap;
 
 import static ch.njol.yggdrasil.Tag.*;
 
@@ -178,21 +177,21 @@ public abstract class YggdrasilOutputStream implements Flushable, Closeable {
 	}
 	
 	private int nextObjectID = 0;
-	private final IdentityHashMap<Object, Integer> writtenObjects = new IdentityHashMap<Object, Integer>();
+	private final ReferenceTable writtenObjects = new ReferenceTable();
 	
 	public final void writeObject(@Nullable Object object) throws IOException {
 		if (object == null) {
 			writeNull();
 			return;
 		}
-		if (writtenObjects.containsKey(object)) {
-			int ref = writtenObjects.get(object);
+		int ref = writtenObjects.get(object);
+		if (ref != ReferenceTable.ABSENT) {
 			if (ref < 0)
 				throw new YggdrasilException("Uninstantiable object " + object + " is referenced in its fields' graph");
 			writeReference(ref);
 			return;
 		}
-		int ref = nextObjectID;
+		ref = nextObjectID;
 		nextObjectID++;
 		writtenObjects.put(object, ref);
 		Tag type = getType(object.getClass());
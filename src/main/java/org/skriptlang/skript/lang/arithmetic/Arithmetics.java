@@ -20,24 +20,44 @@ package org.skriptlang.skript.lang.arithmetic;
 
 import ch.njol.skript.Skript;
 import ch.njol.skript.SkriptAPIException;
-import ch.njol.util.Pair;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.UnmodifiableView;
 
 import java.util.*;
+import java.util.function.BiFunction;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 public final class Arithmetics {
 
 	private static final Map<Operator, List<OperationInfo<?, ?, ?>>> operations = Collections.synchronizedMap(new HashMap<Operator, List<OperationInfo<?, ?, ?>>>());
-	private static final Map<Operator, Map<Pair<Class<?>, Class<?>>, OperationInfo<?, ?, ?>>> cachedOperations = Collections.synchronizedMap(new HashMap<Operator, Map<Pair<Class<?>, Class<?>>, OperationInfo<?, ?, ?>>>());
+	/**
+	 * Operations resolved for each operator. Only filled once registrations have stopped, so the results can't change.
+	 * These are read on every evaluation of an operation, so they use {@link ClassValue}s,
+	 *  which can be read concurrently without locking or allocating.
+	 */
+	private static final Map<Operator, OperationCache> cachedOperations = new EnumMap<Operator, OperationCache>(Operator.class);
+
+	static {
+		for (Operator operator : Operator.values())
+			cachedOperations.put(operator, new OperationCache(operator));
+	}
 
 	private static final Map<Class<?>, DifferenceInfo<?, ?>> differences = Collections.synchronizedMap(new HashMap<Class<?>, DifferenceInfo<?, ?>>());
-	private static final Map<Class<?>, DifferenceInfo<?, ?>> cachedDifferences = Collections.synchronizedMap(new HashMap<Class<?>, DifferenceInfo<?, ?>>());
+	private static final ClassValue<Optional<DifferenceInfo<?, ?>>> cachedDifferences = new ClassValue<Optional<DifferenceInfo<?, ?>>>() {
+		@Override
+		protected Optional<DifferenceInfo<?, ?>> computeValue(Class<?> type) {
+			return Optional.ofNullable(resolve(differences, type));
+		}
+	};
 
 	private static final Map<Class<?>, Supplier<?>> defaultValues = Collections.synchronizedMap(new HashMap<Class<?>, Supplier<?>>());
-	private static final Map<Class<?>, Supplier<?>> cachedDefaultValues = Collections.synchronizedMap(new HashMap<Class<?>, Supplier<?>>());
+	private static final ClassValue<Optional<Supplier<?>>> cachedDefaultValues = new ClassValue<Optional<Supplier<?>>>() {
+		@Override
+		protected Optional<Supplier<?>> computeValue(Class<?> type) {
+			return Optional.ofNullable(resolve(defaultValues, type));
+		}
+	};
 
 	public static <T> void registerOperation(Operator operator, Class<T> type, Operation<T, T, T> operation) {
 		registerOperation(operator, type, type, type, operation);
@@ -87,11 +107,13 @@ public final class Arithmetics {
 		return Collections.unmodifiableList(getOperations_i(operator));
 	}
 
+	/**
+	 * @return An unmodifiable list of the operations of the operator whose left type is assignable from the provided type.
+	 */
 	@SuppressWarnings({"unchecked", "rawtypes"})
 	public static <T> List<OperationInfo<T, ?, ?>> getOperations(Operator operator, Class<T> type) {
-		return (List) getOperations(operator).stream()
-			.filter(info -> info.getLeft().isAssignableFrom(type))
-			.collect(Collectors.toList());
+		assertIsOperationsDoneLoading();
+		return (List) cachedOperations.get(operator).byLeftType.get(type);
 	}
 
 	@Nullable
@@ -103,23 +125,23 @@ public final class Arithmetics {
 		return null;
 	}
 
-	private static Map<Pair<Class<?>, Class<?>>, OperationInfo<?, ?, ?>> getCachedOperations(Operator operator) {
-		return cachedOperations.computeIfAbsent(operator, o -> Collections.synchronizedMap(new HashMap<Pair<Class<?>, Class<?>>, OperationInfo<?, ?, ?>>()));
-	}
-
 	@Nullable
 	@SuppressWarnings("unchecked")
 	public static <L, R> OperationInfo<L, R, ?> getOperationInfo(Operator operator, Class<L> leftClass, Class<R> rightClass) {
 		assertIsOperationsDoneLoading();
-		return (OperationInfo<L, R, ?>) getCachedOperations(operator).computeIfAbsent(new Pair<Class<?>, Class<?>>(leftClass, rightClass), pair ->
-			getOperations(operator).stream()
-				.filter(info -> info.getLeft().isAssignableFrom(leftClass) && info.getRight().isAssignableFrom(rightClass))
-				.reduce((info, info2) -> {
-					if (info2.getLeft() == leftClass && info2.getRight() == rightClass)
-						return info2;
-					return info;
-				})
-				.orElse(null));
+		return (OperationInfo<L, R, ?>) cachedOperations.get(operator).operations.get(leftClass).get(rightClass).orElse(null);
+	}
+
+	@Nullable
+	private static OperationInfo<?, ?, ?> resolveOperationInfo(Operator operator, Class<?> leftClass, Class<?> rightClass) {
+		return getOperations(operator).stream()
+			.filter(info -> info.getLeft().isAssignableFrom(leftClass) && info.getRight().isAssignableFrom(rightClass))
+			.reduce((info, info2) -> {
+				if (info2.getLeft() == leftClass && info2.getRight() == rightClass)
+					return info2;
+				return info;
+			})
+			.orElse(null);
 	}
 
 	@Nullable
@@ -146,16 +168,19 @@ public final class Arithmetics {
 		OperationInfo<L, R, ?> operationInfo = getOperationInfo(operator, leftClass, rightClass);
 		if (operationInfo != null)
 			return operationInfo;
-		return (OperationInfo<L, R, ?>) getCachedOperations(operator).computeIfAbsent(new Pair<Class<?>, Class<?>>(leftClass, rightClass), pair -> {
-			for (OperationInfo<?, ?, ?> info : getOperations(operator)) {
-				if (!info.getLeft().isAssignableFrom(leftClass) && !info.getRight().isAssignableFrom(rightClass))
-					continue;
-				OperationInfo<L, R, ?> convertedInfo = info.getConverted(leftClass, rightClass, info.getReturnType());
-				if (convertedInfo != null)
-					return convertedInfo;
-			}
-			return null;
-		});
+		return (OperationInfo<L, R, ?>) cachedOperations.get(operator).convertedOperations.get(leftClass).get(rightClass).orElse(null);
+	}
+
+	@Nullable
+	private static <L, R> OperationInfo<L, R, ?> resolveConvertedOperationInfo(Operator operator, Class<L> leftClass, Class<R> rightClass) {
+		for (OperationInfo<?, ?, ?> info : getOperations(operator)) {
+			if (!info.getLeft().isAssignableFrom(leftClass) && !info.getRight().isAssignableFrom(rightClass))
+				continue;
+			OperationInfo<L, R, ?> convertedInfo = info.getConverted(leftClass, rightClass, info.getReturnType());
+			if (convertedInfo != null)
+				return convertedInfo;
+		}
+		return null;
 	}
 
 	@SuppressWarnings("unchecked")
@@ -201,15 +226,7 @@ public final class Arithmetics {
 	public static <T> DifferenceInfo<T, ?> getDifferenceInfo(Class<T> type) {
 		if (Skript.isAcceptRegistrations())
 			throw new SkriptAPIException("Differences cannot be retrieved until Skript has finished registrations.");
-		return (DifferenceInfo<T, ?>) cachedDifferences.computeIfAbsent(type, c -> {
-			if (differences.containsKey(type))
-				return differences.get(type);
-			for (Map.Entry<Class<?>, DifferenceInfo<?, ?>> entry : differences.entrySet()) {
-				if (entry.getKey().isAssignableFrom(type))
-					return entry.getValue();
-			}
-			return null;
-		});
+		return (DifferenceInfo<T, ?>) cachedDifferences.get(type).orElse(null);
 	}
 
 	public static <T, R> Operation<T, T, R> getDifference(Class<T> type, Class<R> returnType) {
@@ -245,16 +262,78 @@ public final class Arithmetics {
 	public static <R, T extends R> R getDefaultValue(Class<T> type) {
 		if (Skript.isAcceptRegistrations())
 			throw new SkriptAPIException("Default values cannot be retrieved until Skript has finished registrations.");
-		Supplier<R> supplier = (Supplier<R>) cachedDefaultValues.computeIfAbsent(type, c -> {
-			if (defaultValues.containsKey(type))
-				return defaultValues.get(type);
-			for (Map.Entry<Class<?>, Supplier<?>> entry : defaultValues.entrySet()) {
+		Supplier<R> supplier = (Supplier<R>) cachedDefaultValues.get(type).orElse(null);
+		return supplier == null ? null : supplier.get();
+	}
+
+	/**
+	 * @return The value registered for the type itself, or else for the first registered supertype of it.
+	 */
+	@Nullable
+	private static <V> V resolve(Map<Class<?>, V> registered, Class<?> type) {
+		synchronized (registered) {
+			V value = registered.get(type);
+			if (value != null)
+				return value;
+			for (Map.Entry<Class<?>, V> entry : registered.entrySet()) {
 				if (entry.getKey().isAssignableFrom(type))
 					return entry.getValue();
 			}
 			return null;
-		});
-		return supplier == null ? null : supplier.get();
+		}
+	}
+
+	/**
+	 * @return A cache of values for pairs of types, which are computed using the provided resolver.
+	 */
+	private static <V> ClassValue<ClassValue<Optional<V>>> createCache(BiFunction<Class<?>, Class<?>, V> resolver) {
+		return new ClassValue<ClassValue<Optional<V>>>() {
+			@Override
+			protected ClassValue<Optional<V>> computeValue(Class<?> leftClass) {
+				return new ClassValue<Optional<V>>() {
+					@Override
+					protected Optional<V> computeValue(Class<?> rightClass) {
+						return Optional.ofNullable(resolver.apply(leftClass, rightClass));
+					}
+				};
+			}
+		};
+	}
+
+	/**
+	 * The resolved operations of a single operator.
+	 */
+	private static final class OperationCache {
+
+		/**
+		 * @see #getOperationInfo(Operator, Class, Class)
+		 */
+		private final ClassValue<ClassValue<Optional<OperationInfo<?, ?, ?>>>> operations;
+
+		/**
+		 * Operations that require converting their operands, only used if there is no entry in {@link #operations}.
+		 * @see #lookupOperationInfo(Operator, Class, Class)
+		 */
+		private final ClassValue<ClassValue<Optional<OperationInfo<?, ?, ?>>>> convertedOperations;
+
+		/**
+		 * @see #getOperations(Operator, Class)
+		 */
+		private final ClassValue<List<OperationInfo<?, ?, ?>>> byLeftType;
+
+		private OperationCache(Operator operator) {
+			operations = createCache((leftClass, rightClass) -> resolveOperationInfo(operator, leftClass, rightClass));
+			convertedOperations = createCache((leftClass, rightClass) -> resolveConvertedOperationInfo(operator, leftClass, rightClass));
+			byLeftType = new ClassValue<List<OperationInfo<?, ?, ?>>>() {
+				@Override
+				protected List<OperationInfo<?, ?, ?>> computeValue(Class<?> type) {
+					return Collections.unmodifiableList(getOperations(operator).stream()
+						.filter(info -> info.getLeft().isAssignableFrom(type))
+						.collect(Collectors.toList()));
+				}
+			};
+		}
+
 	}
 
 	private static void assertIsOperationsDoneLoading() {
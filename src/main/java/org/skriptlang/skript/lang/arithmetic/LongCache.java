@@ -0,0 +1,44 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package org.skriptlang.skript.lang.arithmetic;
+
+/**
+ * Holds the boxed values used by {@link NumericOperation#box(long)}.
+ */
+final class LongCache {
+
+	private static final int LOW = -128;
+	private static final int HIGH = 1024;
+
+	private static final Long[] CACHE = new Long[HIGH - LOW + 1];
+
+	static {
+		for (int i = 0; i < CACHE.length; i++)
+			CACHE[i] = Long.valueOf(LOW + i); // shares the JDK's cached values for the lower part of the range
+	}
+
+	private LongCache() {}
+
+	static Long valueOf(long value) {
+		if (value >= LOW && value <= HIGH)
+			return CACHE[(int) value - LOW];
+		return value;
+	}
+
+}
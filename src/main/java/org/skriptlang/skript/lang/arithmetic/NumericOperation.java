@@ -0,0 +1,108 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package org.skriptlang.skript.lang.arithmetic;
+
+import ch.njol.skript.util.Utils;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.LongBinaryOperator;
+
+/**
+ * An {@link Operation} on numbers with primitive overloads,
+ * so that callers which already know both operands are numbers can calculate without boxing.
+ * <br>
+ * {@link #calculate(Number, Number)} uses the {@code long} overload if both operands are integers
+ * and {@link #isIntegral(long, long)} allows it, otherwise the {@code double} overload.
+ * Integer results are boxed using {@link #box(long)}, which caches a range of commonly used values.
+ */
+public interface NumericOperation extends Operation<Number, Number, Number> {
+
+	long calculate(long left, long right);
+
+	double calculate(double left, double right);
+
+	/**
+	 * @return Whether the result of this operation on the given integers is an integer,
+	 * i.e. whether {@link #calculate(long, long)} may be used for them.
+	 */
+	default boolean isIntegral(long left, long right) {
+		return true;
+	}
+
+	@Override
+	default Number calculate(@NotNull Number left, @NotNull Number right) {
+		if (Utils.isInteger(left, right)) {
+			long leftValue = left.longValue();
+			long rightValue = right.longValue();
+			if (isIntegral(leftValue, rightValue))
+				return box(calculate(leftValue, rightValue));
+		}
+		return calculate(left.doubleValue(), right.doubleValue());
+	}
+
+	/**
+	 * Creates an operation that always returns a {@code long} for integer operands.
+	 */
+	static NumericOperation of(LongBinaryOperator longOperation, DoubleBinaryOperator doubleOperation) {
+		return new NumericOperation() {
+			@Override
+			public long calculate(long left, long right) {
+				return longOperation.applyAsLong(left, right);
+			}
+
+			@Override
+			public double calculate(double left, double right) {
+				return doubleOperation.applyAsDouble(left, right);
+			}
+		};
+	}
+
+	/**
+	 * Creates an operation that always returns a {@code double}, e.g. division.
+	 */
+	static NumericOperation of(DoubleBinaryOperator doubleOperation) {
+		return new NumericOperation() {
+			@Override
+			public long calculate(long left, long right) {
+				// truncated, calculate(Number, Number) uses the double overload instead as this isn't integral
+				return (long) doubleOperation.applyAsDouble(left, right);
+			}
+
+			@Override
+			public double calculate(double left, double right) {
+				return doubleOperation.applyAsDouble(left, right);
+			}
+
+			@Override
+			public boolean isIntegral(long left, long right) {
+				return false;
+			}
+		};
+	}
+
+	/**
+	 * Boxes a long like {@link Long#valueOf(long)}, but caches a larger range of values,
+	 * as small positive numbers such as loop counters and amounts are far more common in scripts.
+	 */
+	static Long box(long value) {
+		return LongCache.valueOf(value);
+	}
+
+}
@@ -0,0 +1,102 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package org.skriptlang.skript.lang.comparator;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * An inline cache for a call site that repeatedly compares values whose types aren't known at parse time,
+ * like {@link Comparators#compare(Object, Object)} does.
+ * <br>
+ * The comparator for a pair of runtime classes is only resolved once, for up to {@link #MAX_ENTRIES} different pairs.
+ * Call sites that see more pairs than that fall back to {@link Comparators#compare(Object, Object)}.
+ * This class is thread-safe.
+ */
+public final class ComparatorCache {
+
+	/**
+	 * The amount of pairs of runtime classes a cache remembers before it stops caching.
+	 */
+	private static final int MAX_ENTRIES = 4;
+
+	private static final Entry[] EMPTY = new Entry[0];
+
+	private volatile Entry[] entries = EMPTY;
+
+	/**
+	 * Compares two values, see {@link Comparators#compare(Object, Object)}.
+	 * @return The relation between the two values. Guaranteed to be {@link Relation#NOT_EQUAL} if either value is null.
+	 */
+	public Relation compare(@Nullable Object first, @Nullable Object second) {
+		if (first == null || second == null)
+			return Relation.NOT_EQUAL;
+		if (first == second)
+			return Relation.EQUAL;
+
+		Class<?> firstType = first.getClass();
+		Class<?> secondType = second.getClass();
+		Entry[] entries = this.entries;
+		for (Entry entry : entries) {
+			if (entry.firstType == firstType && entry.secondType == secondType)
+				return entry.compare(first, second);
+		}
+		if (entries.length == MAX_ENTRIES) // megamorphic
+			return Comparators.compare(first, second);
+		Entry entry = new Entry(firstType, secondType, Comparators.getComparator(firstType, secondType));
+		add(entries, entry);
+		return entry.compare(first, second);
+	}
+
+	private synchronized void add(Entry[] expected, Entry entry) {
+		Entry[] entries = this.entries;
+		if (entries != expected) { // another thread added an entry in the meantime
+			if (entries.length == MAX_ENTRIES)
+				return;
+			for (Entry other : entries) {
+				if (other.firstType == entry.firstType && other.secondType == entry.secondType)
+					return;
+			}
+		}
+		Entry[] newEntries = new Entry[entries.length + 1];
+		System.arraycopy(entries, 0, newEntries, 0, entries.length);
+		newEntries[entries.length] = entry;
+		this.entries = newEntries;
+	}
+
+	private static final class Entry {
+
+		private final Class<?> firstType;
+		private final Class<?> secondType;
+		@Nullable
+		private final Comparator<Object, Object> comparator;
+
+		@SuppressWarnings("unchecked")
+		private Entry(Class<?> firstType, Class<?> secondType, @Nullable Comparator<?, ?> comparator) {
+			this.firstType = firstType;
+			this.secondType = secondType;
+			this.comparator = (Comparator<Object, Object>) comparator;
+		}
+
+		private Relation compare(Object first, Object second) {
+			return comparator != null ? comparator.compare(first, second) : Relation.NOT_EQUAL;
+		}
+
+	}
+
+}
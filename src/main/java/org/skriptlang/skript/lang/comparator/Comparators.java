@@ -21,7 +21,6 @@ package org.skriptlang.skript.lang.comparator;
 import ch.njol.skript.Skript;
 import ch.njol.skript.SkriptAPIException;
 import ch.njol.skript.util.Utils;
-import ch.njol.util.Pair;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Unmodifiable;
 import org.skriptlang.skript.lang.converter.Converter;
@@ -67,11 +66,23 @@ public final class Comparators {
 	}
 
 	/**
-	 * A map for quickly accessing comparators that have already been resolved.
-	 * Some pairs may point to a null value, indicating that no comparator exists between the two types.
+	 * A cache for quickly accessing comparators that have already been resolved, indexed by the first and then the second type.
+	 * Some pairs may point to an empty Optional, indicating that no comparator exists between the two types.
 	 * This is useful for skipping complex lookups that may require conversion and inversion.
+	 * As comparisons happen on every evaluation of a condition, {@link ClassValue}s are used,
+	 *  which can be read concurrently without locking or allocating.
 	 */
-	private static final Map<Pair<Class<?>, Class<?>>, ComparatorInfo<?, ?>> QUICK_ACCESS_COMPARATORS = new HashMap<Pair<Class<?>, Class<?>>, ComparatorInfo<?, ?>>(50);
+	private static final ClassValue<ClassValue<Optional<ComparatorInfo<?, ?>>>> QUICK_ACCESS_COMPARATORS = new ClassValue<ClassValue<Optional<ComparatorInfo<?, ?>>>>() {
+		@Override
+		protected ClassValue<Optional<ComparatorInfo<?, ?>>> computeValue(Class<?> firstType) {
+			return new ClassValue<Optional<ComparatorInfo<?, ?>>>() {
+				@Override
+				protected Optional<ComparatorInfo<?, ?>> computeValue(Class<?> secondType) {
+					return Optional.ofNullable(getComparatorInfo_i(firstType, secondType));
+				}
+			};
+		}
+	};
 
 	/**
 	 * Registers a new Comparator with Skript's collection of Comparators.
@@ -195,19 +206,8 @@ public final class Comparators {
 	public static <T1, T2> ComparatorInfo<T1, T2> getComparatorInfo(Class<T1> firstType, Class<T2> secondType) {
 		assertIsDoneLoading();
 
-		Pair<Class<?>, Class<?>> pair = new Pair<Class<?>, Class<?>>(firstType, secondType);
-		ComparatorInfo<T1, T2> comparator;
-
-		synchronized (QUICK_ACCESS_COMPARATORS) {
-			if (QUICK_ACCESS_COMPARATORS.containsKey(pair)) {
-				comparator = (ComparatorInfo<T1, T2>) QUICK_ACCESS_COMPARATORS.get(pair);
-			} else { // Compute QUICK_ACCESS for provided types
-				comparator = getComparatorInfo_i(firstType, secondType);
-				QUICK_ACCESS_COMPARATORS.put(pair, comparator);
-			}
-		}
-
-		return comparator;
+		// Registrations are done, so the result for a pair of types can't change anymore
+		return (ComparatorInfo<T1, T2>) QUICK_ACCESS_COMPARATORS.get(firstType).get(secondType).orElse(null);
 	}
 
 	/**
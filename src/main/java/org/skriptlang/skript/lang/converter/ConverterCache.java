@@ -0,0 +1,155 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package org.skriptlang.skript.lang.converter;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An inline cache for a call site that repeatedly converts values into one of the same target types,
+ * like {@link Converters#convert(Object, Class[])} does.
+ * <br>
+ * The conversion for a runtime class is only resolved once, for up to {@link #MAX_ENTRIES} different classes.
+ * Call sites that see more classes than that fall back to {@link Converters#convert(Object, Class[])}.
+ * This class is thread-safe.
+ *
+ * @param <T> The common super type of the target types.
+ */
+public final class ConverterCache<T> {
+
+	/**
+	 * The amount of runtime classes a cache remembers before it stops caching.
+	 */
+	private static final int MAX_ENTRIES = 4;
+
+	private static final Entry[] EMPTY = new Entry[0];
+
+	private final Class<? extends T>[] toTypes;
+
+	private volatile Entry[] entries = EMPTY;
+
+	public ConverterCache(Class<? extends T>[] toTypes) {
+		this.toTypes = toTypes;
+	}
+
+	/**
+	 * Converts a value into one of the target types, see {@link Converters#convert(Object, Class[])}.
+	 * @param from The value to convert.
+	 * @return The converted value, or null if the value is null or could not be converted.
+	 */
+	@Nullable
+	@SuppressWarnings("unchecked")
+	public T convert(@Nullable Object from) {
+		if (from == null)
+			return null;
+		Class<?> type = from.getClass();
+		Entry[] entries = this.entries;
+		for (Entry entry : entries) {
+			if (entry.type == type)
+				return (T) entry.convert(from);
+		}
+		if (entries.length == MAX_ENTRIES) // megamorphic
+			return Converters.convert(from, toTypes);
+		Entry entry = resolve(type);
+		add(entries, entry);
+		return (T) entry.convert(from);
+	}
+
+	/**
+	 * Converts values into the target types, see {@link Converters#convert(Object[], Class[], Class)}.
+	 * @param from The values to convert.
+	 * @param superType The common super type of the target types, used as the component type of the returned array.
+	 * @return The converted values. Values that couldn't be converted are left out.
+	 */
+	@SuppressWarnings("unchecked")
+	public T[] convert(Object @Nullable [] from, Class<T> superType) {
+		if (from == null)
+			return (T[]) Array.newInstance(superType, 0);
+
+		Class<?> fromType = from.getClass().getComponentType();
+		for (Class<? extends T> toType : toTypes) {
+			if (toType.isAssignableFrom(fromType))
+				return (T[]) from;
+		}
+
+		List<T> converted = new ArrayList<T>(from.length);
+		for (Object fromSingle : from) {
+			T convertedSingle = convert(fromSingle);
+			if (convertedSingle != null)
+				converted.add(convertedSingle);
+		}
+		return converted.toArray((T[]) Array.newInstance(superType, converted.size()));
+	}
+
+	private Entry resolve(Class<?> type) {
+		for (Class<? extends T> toType : toTypes) {
+			if (toType.isAssignableFrom(type))
+				return new Entry(type, true, null);
+		}
+		for (Class<? extends T> toType : toTypes) {
+			Converter<?, ? extends T> converter = Converters.getConverter(type, toType);
+			if (converter != null)
+				return new Entry(type, false, converter);
+		}
+		return new Entry(type, false, null);
+	}
+
+	private synchronized void add(Entry[] expected, Entry entry) {
+		Entry[] entries = this.entries;
+		if (entries != expected) { // another thread added an entry in the meantime
+			if (entries.length == MAX_ENTRIES)
+				return;
+			for (Entry other : entries) {
+				if (other.type == entry.type)
+					return;
+			}
+		}
+		Entry[] newEntries = new Entry[entries.length + 1];
+		System.arraycopy(entries, 0, newEntries, 0, entries.length);
+		newEntries[entries.length] = entry;
+		this.entries = newEntries;
+	}
+
+	private static final class Entry {
+
+		private final Class<?> type;
+		private final boolean instance;
+		@Nullable
+		private final Converter<Object, ?> converter;
+
+		@SuppressWarnings("unchecked")
+		private Entry(Class<?> type, boolean instance, @Nullable Converter<?, ?> converter) {
+			this.type = type;
+			this.instance = instance;
+			this.converter = (Converter<Object, ?>) converter;
+		}
+
+		@Nullable
+		private Object convert(Object from) {
+			if (instance)
+				return from;
+			return converter != null ? converter.convert(from) : null;
+		}
+
+	}
+
+}
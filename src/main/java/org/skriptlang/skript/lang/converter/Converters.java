@@ -20,7 +20,6 @@ package org.skriptlang.skript.lang.converter;
 
 import ch.njol.skript.Skript;
 import ch.njol.skript.SkriptAPIException;
-import ch.njol.util.Pair;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Unmodifiable;
 
@@ -53,11 +52,22 @@ public final class Converters {
 	}
 
 	/**
-	 * A map for quickly access converters that have already been resolved.
-	 * Some pairs may point to a null value, indicating that no converter exists between the two types.
+	 * A cache for quickly accessing converters that have already been resolved, indexed by the type to convert from and then the type to convert to.
+	 * Some pairs may point to an empty Optional, indicating that no converter exists between the two types.
 	 * This is useful for skipping complex lookups that may require chaining.
+	 * {@link ClassValue}s are used as they can be read concurrently without locking or allocating.
 	 */
-	private static final Map<Pair<Class<?>, Class<?>>, ConverterInfo<?, ?>> QUICK_ACCESS_CONVERTERS = new HashMap<Pair<Class<?>, Class<?>>, ConverterInfo<?, ?>>(50);
+	private static final ClassValue<ClassValue<Optional<ConverterInfo<?, ?>>>> QUICK_ACCESS_CONVERTERS = new ClassValue<ClassValue<Optional<ConverterInfo<?, ?>>>>() {
+		@Override
+		protected ClassValue<Optional<ConverterInfo<?, ?>>> computeValue(Class<?> fromType) {
+			return new ClassValue<Optional<ConverterInfo<?, ?>>>() {
+				@Override
+				protected Optional<ConverterInfo<?, ?>> computeValue(Class<?> toType) {
+					return Optional.ofNullable(getConverterInfo_i(fromType, toType));
+				}
+			};
+		}
+	};
 
 	/**
 	 * Registers a new Converter with Skript's collection of Converters.
@@ -239,19 +249,8 @@ public final class Converters {
 	public static <F, T> ConverterInfo<F, T> getConverterInfo(Class<F> fromType, Class<T> toType) {
 		assertIsDoneLoading();
 
-		Pair<Class<?>, Class<?>> pair = new Pair<Class<?>, Class<?>>(fromType, toType);
-		ConverterInfo<F, T> converter;
-
-		synchronized (QUICK_ACCESS_CONVERTERS) {
-			if (QUICK_ACCESS_CONVERTERS.containsKey(pair)) {
-				converter = (ConverterInfo<F, T>) QUICK_ACCESS_CONVERTERS.get(pair);
-			} else { // Compute QUICK_ACCESS for provided types
-				converter = getConverterInfo_i(fromType, toType);
-				QUICK_ACCESS_CONVERTERS.put(pair, converter);
-			}
-		}
-
-		return converter;
+		// Registrations are done, so the result for a pair of types can't change anymore
+		return (ConverterInfo<F, T>) QUICK_ACCESS_CONVERTERS.get(fromType).get(toType).orElse(null);
 	}
 
 	/**
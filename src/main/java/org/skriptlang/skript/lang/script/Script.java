@@ -40,7 +40,7 @@ public final class Script {
 
 	private final Config config;
 
-	private final List<Structure> structures;
+	private List<Structure> structures;
 
 	/**
 	 * Creates a new Script to be used across the API.
@@ -69,6 +69,15 @@ public final class Script {
 		return Collections.unmodifiableList(structures);
 	}
 
+	/**
+	 * Replaces the Structures of this Script. Used when only some Structures of a Script are reloaded.
+	 * @param structures The new list of Structures, which may continue to be modified by {@link ScriptLoader}.
+	 */
+	@ApiStatus.Internal
+	public void setStructures(List<Structure> structures) {
+		this.structures = structures;
+	}
+
 	// Warning Suppressions
 
 	private final Set<ScriptWarning> suppressedWarnings = new HashSet<ScriptWarning>(ScriptWarning.values().length);